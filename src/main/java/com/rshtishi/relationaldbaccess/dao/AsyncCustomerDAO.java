@@ -0,0 +1,259 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.rshtishi.relationaldbaccess.entity.Customer;
+
+/**
+ * Runs the calls of a blocking {@link CustomerDAO} on a dedicated executor and
+ * returns {@link CompletableFuture}s, so independent lookups can overlap their
+ * latency. At most {@code poolSize} calls run at once, which should match the
+ * connection pool, and at most {@code queueCapacity} more wait for a turn. Once
+ * both are taken a new call is either rejected or blocks the caller, depending
+ * on the {@link OverflowPolicy}.
+ * <p>
+ * Every call runs on another thread, so it never takes part in a transaction or
+ * unit of work of the caller. All methods of {@link CustomerDAO} are wrapped
+ * except {@code streamAll}: its stream keeps a connection busy after the call
+ * returns, outside the bound of this facade. {@link #findAll(Consumer, int)}
+ * scans the table on a worker instead.
+ */
+public class AsyncCustomerDAO implements AutoCloseable {
+
+	public enum OverflowPolicy {
+		/** Fails the returned future with a {@link RejectedExecutionException}. */
+		REJECT,
+		/** Blocks the calling thread until a call completes. */
+		BLOCK
+	}
+
+	private final CustomerDAO customerDAO;
+	private final ExecutorService executor;
+	private final Semaphore running;
+	private final Semaphore inFlight;
+	private final OverflowPolicy overflowPolicy;
+
+	public AsyncCustomerDAO(CustomerDAO customerDAO, int poolSize, int queueCapacity,
+			OverflowPolicy overflowPolicy) {
+		// the queue itself is unbounded, the in-flight permits bound it
+		this(customerDAO, new ThreadPoolExecutor(checkPoolSize(poolSize), poolSize, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), new DaemonThreadFactory()), null, poolSize, queueCapacity,
+				overflowPolicy);
+	}
+
+	private AsyncCustomerDAO(CustomerDAO customerDAO, ExecutorService executor, Semaphore running, int poolSize,
+			int queueCapacity, OverflowPolicy overflowPolicy) {
+		if (queueCapacity < 0) {
+			throw new IllegalArgumentException("Queue capacity must not be negative: " + queueCapacity);
+		}
+		this.customerDAO = customerDAO;
+		this.executor = executor;
+		this.running = running;
+		this.inFlight = new Semaphore(poolSize + queueCapacity);
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Runs every call on a virtual thread of its own, while still letting only
+	 * {@code poolSize} of them use a connection at once. Requires a runtime with
+	 * virtual threads, see {@link #isVirtualThreadsSupported()}.
+	 */
+	public static AsyncCustomerDAO withVirtualThreads(CustomerDAO customerDAO, int poolSize, int queueCapacity,
+			OverflowPolicy overflowPolicy) {
+		checkPoolSize(poolSize);
+		ExecutorService executor;
+		try {
+			executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads are not available on this runtime", e);
+		}
+		return new AsyncCustomerDAO(customerDAO, executor, new Semaphore(poolSize), poolSize, queueCapacity,
+				overflowPolicy);
+	}
+
+	public static boolean isVirtualThreadsSupported() {
+		try {
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	public CompletableFuture<Void> insert(Customer customer) {
+		return run(() -> customerDAO.insert(customer));
+	}
+
+	public CompletableFuture<Void> insert(Iterable<Customer> customers) {
+		return run(() -> customerDAO.insert(customers));
+	}
+
+	public CompletableFuture<BatchResult> insert(Iterable<Customer> customers, int batchSize) {
+		return submit(() -> customerDAO.insert(customers, batchSize));
+	}
+
+	public CompletableFuture<BatchResult> insertMultiRow(Iterable<Customer> customers, int rowsPerStatement) {
+		return submit(() -> customerDAO.insertMultiRow(customers, rowsPerStatement));
+	}
+
+	public CompletableFuture<Void> upsert(Customer customer) {
+		return run(() -> customerDAO.upsert(customer));
+	}
+
+	public CompletableFuture<Void> upsert(Iterable<Customer> customers) {
+		return run(() -> customerDAO.upsert(customers));
+	}
+
+	public CompletableFuture<BatchResult> upsert(Iterable<Customer> customers, int batchSize) {
+		return submit(() -> customerDAO.upsert(customers, batchSize));
+	}
+
+	public CompletableFuture<Void> update(Customer customer) {
+		return run(() -> customerDAO.update(customer));
+	}
+
+	public CompletableFuture<Void> update(Iterable<Customer> customers) {
+		return run(() -> customerDAO.update(customers));
+	}
+
+	public CompletableFuture<BatchResult> update(Iterable<Customer> customers, int batchSize) {
+		return submit(() -> customerDAO.update(customers, batchSize));
+	}
+
+	public CompletableFuture<Void> delete(Customer customer) {
+		return run(() -> customerDAO.delete(customer));
+	}
+
+	public CompletableFuture<Void> delete(Iterable<Customer> customers) {
+		return run(() -> customerDAO.delete(customers));
+	}
+
+	public CompletableFuture<BatchResult> delete(Iterable<Customer> customers, int batchSize) {
+		return submit(() -> customerDAO.delete(customers, batchSize));
+	}
+
+	public CompletableFuture<Customer> findByCustomerId(int customerId) {
+		return submit(() -> customerDAO.findByCustomerId(customerId));
+	}
+
+	public CompletableFuture<List<Customer>> findAll() {
+		return submit(customerDAO::findAll);
+	}
+
+	/**
+	 * Passes every row to the consumer on the worker thread, the future
+	 * completes once the scan is done.
+	 */
+	public CompletableFuture<Void> findAll(Consumer<Customer> consumer, int fetchSize) {
+		return run(() -> customerDAO.findAll(consumer, fetchSize));
+	}
+
+	public CompletableFuture<KeysetPage<Customer>> findPage(int afterId, int limit) {
+		return submit(() -> customerDAO.findPage(afterId, limit));
+	}
+
+	public CompletableFuture<List<Customer>> findByIdRange(int fromId, int toId) {
+		return submit(() -> customerDAO.findByIdRange(fromId, toId));
+	}
+
+	public CompletableFuture<Optional<IdRange>> findIdRange() {
+		return submit(customerDAO::findIdRange);
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	private CompletableFuture<Void> run(Runnable call) {
+		return submit(() -> {
+			call.run();
+			return null;
+		});
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> call) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		if (overflowPolicy == OverflowPolicy.REJECT && !inFlight.tryAcquire()) {
+			future.completeExceptionally(new RejectedExecutionException("Too many customer DAO calls in flight"));
+			return future;
+		}
+		if (overflowPolicy == OverflowPolicy.BLOCK) {
+			try {
+				inFlight.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				future.completeExceptionally(e);
+				return future;
+			}
+		}
+		try {
+			executor.execute(() -> complete(future, call));
+		} catch (RejectedExecutionException e) {
+			inFlight.release();
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	// the permits are released before completing, so a dependent call never sees them taken
+	private <T> void complete(CompletableFuture<T> future, Supplier<T> call) {
+		T result = null;
+		Throwable failure = null;
+		try {
+			if (running != null) {
+				running.acquire();
+			}
+			try {
+				result = call.get();
+			} finally {
+				if (running != null) {
+					running.release();
+				}
+			}
+		} catch (Throwable e) {
+			failure = e;
+		} finally {
+			inFlight.release();
+		}
+		if (failure != null) {
+			future.completeExceptionally(failure);
+		} else {
+			future.complete(result);
+		}
+	}
+
+	private static int checkPoolSize(int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("Pool size must be positive: " + poolSize);
+		}
+		return poolSize;
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "async-customer-dao-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of a chunked JDBC batch. Every chunk reports its update counts; a
+ * failed chunk also carries the exception and the rows that were not applied.
+ * The whole batch runs in one transaction, so it is committed only when every
+ * chunk succeeded. A batch run inside the caller's transaction joins it and is
+ * never reported as committed, the caller commits or rolls it back.
+ */
+@Data
+public class BatchResult {
+
+	private final List<ChunkResult> chunks = new ArrayList<>();
+	private boolean committed;
+
+	public void addChunk(ChunkResult chunk) {
+		chunks.add(chunk);
+	}
+
+	public boolean isSuccessful() {
+		return chunks.stream().noneMatch(ChunkResult::isFailed);
+	}
+
+	public Optional<Exception> getFailure() {
+		return chunks.stream().filter(ChunkResult::isFailed).map(ChunkResult::getFailure).findFirst();
+	}
+
+	public int getRowCount() {
+		return chunks.stream().mapToInt(ChunkResult::getSize).sum();
+	}
+
+	public int getUpdateCount() {
+		return chunks.stream().mapToInt(ChunkResult::getUpdateCount).sum();
+	}
+
+	public List<Integer> getFailedRows() {
+		List<Integer> failedRows = new ArrayList<>();
+		chunks.forEach(chunk -> failedRows.addAll(chunk.getFailedRows()));
+		return failedRows;
+	}
+
+	@Data
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static class ChunkResult {
+
+		private final int offset;
+		private final int size;
+		private final int[] updateCounts;
+		private final Exception failure;
+
+		public static ChunkResult executed(int offset, int[] updateCounts) {
+			return new ChunkResult(offset, updateCounts.length, updateCounts, null);
+		}
+
+		public static ChunkResult failed(int offset, int size, Exception failure) {
+			return new ChunkResult(offset, size, updateCountsOf(failure), failure);
+		}
+
+		public boolean isFailed() {
+			return failure != null;
+		}
+
+		public int getUpdateCount() {
+			return Arrays.stream(updateCounts).map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0))
+					.sum();
+		}
+
+		/**
+		 * Absolute indexes of the rows of this chunk that failed. Drivers that
+		 * stop at the first error return fewer update counts than rows, the
+		 * missing tail is reported as failed too.
+		 */
+		public List<Integer> getFailedRows() {
+			List<Integer> failedRows = new ArrayList<>();
+			if (isFailed()) {
+				for (int i = 0; i < size; i++) {
+					if (i >= updateCounts.length || updateCounts[i] == Statement.EXECUTE_FAILED) {
+						failedRows.add(offset + i);
+					}
+				}
+			}
+			return failedRows;
+		}
+
+		private static int[] updateCountsOf(Throwable failure) {
+			for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+				if (cause instanceof BatchUpdateException) {
+					int[] updateCounts = ((BatchUpdateException) cause).getUpdateCounts();
+					return updateCounts != null ? updateCounts : new int[0];
+				}
+			}
+			return new int[0];
+		}
+
+	}
+
+}
@@ -1,15 +1,28 @@
 package com.rshtishi.relationaldbaccess.dao;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.rshtishi.relationaldbaccess.entity.Customer;
 
 public interface CustomerDAO {
-	
-	public static final String INSERT_SQL = "INSERT INTO CUSTOMER (ID, FIRST_NAME, LAST_NAME, PHONE, EMAIL, ZIP_CODE, CITY, STATE) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	/**
+	 * First id handed out by the JPA customer sequence. Ids chosen by the
+	 * caller must stay below it, so JDBC and JPA inserts never collide.
+	 */
+	public static final int FIRST_SEQUENCE_ID = 1_000_000_000;
+	public static final String COLUMNS = "ID, FIRST_NAME, LAST_NAME, PHONE, EMAIL, ZIP_CODE, CITY, STATE";
+	public static final String INSERT_SQL = "INSERT INTO CUSTOMER (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	public static final String UPSERT_SQL = "MERGE INTO CUSTOMER (" + COLUMNS + ") KEY(ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 	public static final String UPDATE_SQL = "UPDATE CUSTOMER SET FIRST_NAME=?, LAST_NAME=?, PHONE=?, EMAIL=?, ZIP_CODE=?, CITY=?, STATE=? WHERE ID=?";
-	public static final String SELECT_ALL_SQL = "SELECT * FROM CUSTOMER";
-	public static final String SELECT_ONE_SQL = "SELECT * FROM  CUSTOMER WHERE ID=?";
+	public static final String SELECT_ALL_SQL = "SELECT " + COLUMNS + " FROM CUSTOMER";
+	public static final String SELECT_PAGE_SQL = "SELECT " + COLUMNS + " FROM CUSTOMER WHERE ID > ? ORDER BY ID LIMIT ?";
+	public static final String SELECT_RANGE_SQL = "SELECT " + COLUMNS + " FROM CUSTOMER WHERE ID BETWEEN ? AND ? ORDER BY ID";
+	public static final String SELECT_ID_RANGE_SQL = "SELECT MIN(ID), MAX(ID) FROM CUSTOMER";
+	public static final String SELECT_ONE_SQL = "SELECT " + COLUMNS + " FROM CUSTOMER WHERE ID=?";
 	public static final String DELETE_SQL = "DELETE FROM CUSTOMER WHERE ID = ?";
 
 
@@ -17,11 +30,48 @@ public interface CustomerDAO {
 
 	void insert(Iterable<Customer> customers);
 
+	BatchResult insert(Iterable<Customer> customers, int batchSize);
+
+	/**
+	 * Inserts the customers with multi-row {@code INSERT ... VALUES (...),(...)}
+	 * statements of up to {@code rowsPerStatement} tuples each, all in one
+	 * transaction. A chunk of the result is one statement, which fails as a whole.
+	 */
+	BatchResult insertMultiRow(Iterable<Customer> customers, int rowsPerStatement);
+
+	void upsert(Customer customer);
+
+	void upsert(Iterable<Customer> customers);
+
+	BatchResult upsert(Iterable<Customer> customers, int batchSize);
+
 	void update(Customer customer);
 
+	void update(Iterable<Customer> customers);
+
+	BatchResult update(Iterable<Customer> customers, int batchSize);
+
 	void delete(Customer customer);
 
+	void delete(Iterable<Customer> customers);
+
+	BatchResult delete(Iterable<Customer> customers, int batchSize);
+
 	Customer findByCustomerId(int customerId);
 
 	List<Customer> findAll();
+
+	void findAll(Consumer<Customer> consumer, int fetchSize);
+
+	Stream<Customer> streamAll(int fetchSize);
+
+	KeysetPage<Customer> findPage(int afterId, int limit);
+
+	List<Customer> findByIdRange(int fromId, int toId);
+
+	/**
+	 * Returns the lowest and the highest customer id, or an empty optional when
+	 * the table is empty.
+	 */
+	Optional<IdRange> findIdRange();
 }
@@ -0,0 +1,37 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.rshtishi.relationaldbaccess.entity.Customer;
+
+/**
+ * Maps CUSTOMER rows by column index. The ordinals are resolved once for each
+ * {@link ResultSet} instead of looking every label up on every row, so an
+ * instance keeps state and should be created per query, not shared between
+ * threads.
+ */
+public class CustomerRowMapper implements RowMapper<Customer> {
+
+	private static final String[] COLUMNS = { "ID", "FIRST_NAME", "LAST_NAME", "PHONE", "EMAIL", "ZIP_CODE", "CITY",
+			"STATE" };
+
+	private final int[] ordinals = new int[COLUMNS.length];
+	private ResultSet resolvedFor;
+
+	@Override
+	public Customer mapRow(ResultSet rs, int rowNum) throws SQLException {
+		if (rs != resolvedFor) {
+			for (int i = 0; i < COLUMNS.length; i++) {
+				ordinals[i] = rs.findColumn(COLUMNS[i]);
+			}
+			resolvedFor = rs;
+		}
+		return new Customer(rs.getInt(ordinals[0]), rs.getString(ordinals[1]), rs.getString(ordinals[2]),
+				rs.getString(ordinals[3]), rs.getString(ordinals[4]), rs.getString(ordinals[5]),
+				rs.getString(ordinals[6]), rs.getString(ordinals[7]));
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * An inclusive range of customer ids, as read with {@code MIN(ID)} and
+ * {@code MAX(ID)}.
+ */
+@Data
+@AllArgsConstructor
+public class IdRange {
+
+	private final int fromId;
+	private final int toId;
+
+	/**
+	 * Splits the key space into at most {@code partitions} contiguous ranges of
+	 * about equal width. Gaps in the ids make the row counts uneven.
+	 */
+	public List<IdRange> split(int partitions) {
+		if (partitions < 1) {
+			throw new IllegalArgumentException("Partitions must be positive: " + partitions);
+		}
+		long width = (long) toId - fromId + 1;
+		long step = (width + partitions - 1) / partitions;
+		List<IdRange> ranges = new ArrayList<>(partitions);
+		for (long from = fromId; from <= toId; from += step) {
+			ranges.add(new IdRange((int) from, (int) Math.min(toId, from + step - 1)));
+		}
+		return ranges;
+	}
+
+}
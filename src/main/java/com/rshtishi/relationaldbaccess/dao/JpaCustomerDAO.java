@@ -1,15 +1,27 @@
 package com.rshtishi.relationaldbaccess.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
 
 public interface JpaCustomerDAO {
 	
 	List<JpaCustomerEntity> findAll();
+
+	void findAll(Consumer<JpaCustomerEntity> consumer, int fetchSize);
+
+	/**
+	 * Scrolls the customers read-only. Has to be called within a transaction,
+	 * which must stay open until the stream is closed.
+	 */
+	Stream<JpaCustomerEntity> streamAll(int fetchSize);
 	
 	JpaCustomerEntity findById(int id);
 	
+	KeysetPage<JpaCustomerEntity> findPage(int afterId, int limit);
+	
 	void save(JpaCustomerEntity customer);
 	
 	void saveAll(List<JpaCustomerEntity> customer);
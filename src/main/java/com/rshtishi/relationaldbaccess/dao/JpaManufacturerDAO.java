@@ -1,12 +1,20 @@
 package com.rshtishi.relationaldbaccess.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.querydsl.core.types.Predicate;
 import com.rshtishi.relationaldbaccess.entity.Manufacturer;
 
 public interface JpaManufacturerDAO {
 	
 	List<Manufacturer> findAll();
+
+	void findAll(Consumer<Manufacturer> consumer, int fetchSize);
+
+	Stream<Manufacturer> streamAll(int fetchSize);
 	
 	Manufacturer findById(int id);
 	
@@ -14,4 +22,18 @@ public interface JpaManufacturerDAO {
 	
 	void delete(int id);
 
+	/**
+	 * Deletes the manufacturers and their product links by set-based statements,
+	 * without loading them. Pending changes are flushed first, and the whole
+	 * persistence context is cleared afterwards, so every entity the caller's
+	 * transaction loaded becomes detached, not only the deleted ones.
+	 */
+	int deleteAllById(Collection<Integer> ids);
+
+	/**
+	 * Like {@link #deleteAllById(Collection)} for the manufacturers matching the
+	 * predicate, which the statements evaluate as a subquery.
+	 */
+	int deleteAll(Predicate predicate);
+
 }
@@ -0,0 +1,23 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.util.function.Consumer;
+
+import com.rshtishi.relationaldbaccess.entity.Product;
+
+public interface JpaProductBulkDAO {
+
+	/**
+	 * Inserts the products with their reviews, details and manufacturers in one
+	 * transaction and returns the number of products. Manufacturers with an id
+	 * are linked, the others are inserted first.
+	 */
+	int importProducts(Iterable<Product> products);
+
+	/**
+	 * Hands every product to the consumer, ordered by id, with its reviews,
+	 * details and manufacturers filled in. The products are detached and only one
+	 * graph is held in memory at a time.
+	 */
+	void exportProducts(Consumer<Product> consumer);
+
+}
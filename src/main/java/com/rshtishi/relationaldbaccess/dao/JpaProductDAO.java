@@ -1,12 +1,22 @@
 package com.rshtishi.relationaldbaccess.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.querydsl.core.types.Predicate;
 import com.rshtishi.relationaldbaccess.entity.Product;
 
 public interface JpaProductDAO {
 	
 	List<Product> findAll();
+
+	void findAll(Consumer<Product> consumer, int fetchSize);
+
+	Stream<Product> streamAll(int fetchSize);
+
+	List<Product> findAll(ProductFetchPlan fetchPlan);
 	
 	Product findById(int id);
 	
@@ -14,4 +24,20 @@ public interface JpaProductDAO {
 	
 	void delete(int id);
 
+	/**
+	 * Deletes the products with their reviews, details and manufacturer links by
+	 * set-based statements, without loading them. Pending changes are flushed
+	 * first, and the whole persistence context is cleared afterwards, so every
+	 * entity the caller's transaction loaded becomes detached, not only the
+	 * deleted ones.
+	 */
+	int deleteAllById(Collection<Integer> ids);
+
+	/**
+	 * Like {@link #deleteAllById(Collection)} for the products matching the
+	 * predicate. Every statement evaluates it as a subquery, so it must not
+	 * depend on the reviews, details or links being deleted.
+	 */
+	int deleteAll(Predicate predicate);
+
 }
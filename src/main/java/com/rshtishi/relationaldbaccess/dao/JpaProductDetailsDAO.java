@@ -1,12 +1,18 @@
 package com.rshtishi.relationaldbaccess.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.rshtishi.relationaldbaccess.entity.ProductDetails;
 
 public interface JpaProductDetailsDAO {
 	
 	List<ProductDetails> findAll();
+
+	void findAll(Consumer<ProductDetails> consumer, int fetchSize);
+
+	Stream<ProductDetails> streamAll(int fetchSize);
 	
 	ProductDetails findById(int id);
 	
@@ -1,6 +1,8 @@
 package com.rshtishi.relationaldbaccess.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.rshtishi.relationaldbaccess.entity.Product;
 import com.rshtishi.relationaldbaccess.entity.Review;
@@ -8,6 +10,10 @@ import com.rshtishi.relationaldbaccess.entity.Review;
 public interface JpaReviewDAO {
 	
 	List<Review> findAll();
+
+	void findAll(Consumer<Review> consumer, int fetchSize);
+
+	Stream<Review> streamAll(int fetchSize);
 	
 	Review findById(int id);
 	
@@ -0,0 +1,45 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One page of a keyset (seek) pagination. The next page is requested with
+ * {@link #getNextAfterId()} as the {@code afterId}, which is {@code null} on
+ * the last page.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+	private final List<T> content;
+	private final Integer nextAfterId;
+
+	public boolean hasNext() {
+		return nextAfterId != null;
+	}
+
+	/**
+	 * Number of rows a page query has to fetch: one more than the limit tells
+	 * whether a next page exists without running a count query.
+	 */
+	public static int rowsToFetch(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("Page limit must be positive: " + limit);
+		}
+		return limit + 1;
+	}
+
+	public static <T> KeysetPage<T> of(List<T> rows, int limit, ToIntFunction<T> idOf) {
+		if (rows.size() <= limit) {
+			return new KeysetPage<>(rows, null);
+		}
+		List<T> content = new ArrayList<>(rows.subList(0, limit));
+		return new KeysetPage<>(content, idOf.applyAsInt(content.get(limit - 1)));
+	}
+
+}
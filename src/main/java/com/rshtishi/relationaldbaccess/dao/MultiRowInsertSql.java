@@ -0,0 +1,36 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds {@code INSERT INTO CUSTOMER (...) VALUES (...),(...),...} statements
+ * and caches them per tuple count, so a bulk load only ever sees two SQL
+ * strings: one for full statements and one for the remainder.
+ */
+public final class MultiRowInsertSql {
+
+	public static final int PARAMETERS_PER_ROW = 8;
+
+	private static final String TUPLE = "(?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final Map<Integer, String> STATEMENTS = new ConcurrentHashMap<>();
+
+	private MultiRowInsertSql() {
+	}
+
+	public static String forRows(int rows) {
+		if (rows < 1) {
+			throw new IllegalArgumentException("Rows per statement must be positive: " + rows);
+		}
+		return STATEMENTS.computeIfAbsent(rows, MultiRowInsertSql::build);
+	}
+
+	private static String build(int rows) {
+		StringBuilder sql = new StringBuilder("INSERT INTO CUSTOMER (").append(CustomerDAO.COLUMNS).append(") VALUES ");
+		for (int i = 0; i < rows; i++) {
+			sql.append(i == 0 ? "" : ", ").append(TUPLE);
+		}
+		return sql.toString();
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.rshtishi.relationaldbaccess.entity.Customer;
+
+/**
+ * Reads the whole CUSTOMER table in parallel. The id key space between
+ * {@code MIN(ID)} and {@code MAX(ID)} is split into ranges and every range is
+ * read with {@link CustomerDAO#findByIdRange(int, int)} on one of
+ * {@code parallelism} worker threads, so each read borrows a pooled connection
+ * of its own. The number of workers should not exceed the connection pool
+ * size. A scan only reads {@code parallelism} ranges ahead of its consumer,
+ * the next range starts when one is consumed, so a slow consumer never has
+ * the whole table in memory.
+ */
+public class ParallelCustomerScan implements AutoCloseable {
+
+	private final CustomerDAO customerDAO;
+	private final int parallelism;
+	private final ExecutorService executor;
+
+	public ParallelCustomerScan(CustomerDAO customerDAO, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+		}
+		this.customerDAO = customerDAO;
+		this.parallelism = parallelism;
+		// ranges of concurrent scans wait for a worker, the caller never reads one itself
+		this.executor = Executors.newFixedThreadPool(parallelism);
+	}
+
+	/**
+	 * Streams all customers read in {@code partitions} ranges. An ordered scan
+	 * returns them by id; an unordered one returns each range as soon as it has
+	 * been read. Closing the stream cancels the ranges that are still pending.
+	 */
+	public Stream<Customer> scan(int partitions, boolean ordered) {
+		Optional<IdRange> idRange = customerDAO.findIdRange();
+		if (!idRange.isPresent()) {
+			return Stream.empty();
+		}
+		List<IdRange> ranges = idRange.get().split(partitions);
+		RangeReads reads = new RangeReads(ranges.iterator(), ordered);
+		return Stream.generate(reads::next).limit(ranges.size()).flatMap(List::stream).onClose(reads::cancel);
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	private class RangeReads {
+
+		private final Iterator<IdRange> pending;
+		private final boolean ordered;
+		private final CompletionService<List<Customer>> completionService = new ExecutorCompletionService<>(executor);
+		// in range order, an unordered scan takes them by completion instead
+		private final Deque<Future<List<Customer>>> inFlight = new ArrayDeque<>();
+
+		RangeReads(Iterator<IdRange> pending, boolean ordered) {
+			this.pending = pending;
+			this.ordered = ordered;
+			while (inFlight.size() < parallelism && pending.hasNext()) {
+				submitNext();
+			}
+		}
+
+		List<Customer> next() {
+			Future<List<Customer>> future = ordered ? inFlight.removeFirst() : take();
+			if (pending.hasNext()) {
+				submitNext();
+			}
+			return get(future);
+		}
+
+		void cancel() {
+			inFlight.forEach(future -> future.cancel(true));
+		}
+
+		private void submitNext() {
+			IdRange range = pending.next();
+			inFlight.addLast(
+					completionService.submit(() -> customerDAO.findByIdRange(range.getFromId(), range.getToId())));
+		}
+
+		private Future<List<Customer>> take() {
+			try {
+				Future<List<Customer>> future = completionService.take();
+				inFlight.remove(future);
+				return future;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+
+		private List<Customer> get(Future<List<Customer>> future) {
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new RuntimeException(e.getCause());
+			}
+		}
+
+	}
+
+}
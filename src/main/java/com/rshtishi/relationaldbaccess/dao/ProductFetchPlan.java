@@ -0,0 +1,15 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+/**
+ * The associations a product query loads up front. The details are lazy, but
+ * every plan joins them, as there is at most one row per product.
+ */
+public enum ProductFetchPlan {
+
+	DETAILS,
+	WITH_REVIEWS,
+	WITH_MANUFACTURERS,
+	/** Reviews and manufacturers, loaded by two queries as two bags can not be join fetched at once. */
+	FULL
+
+}
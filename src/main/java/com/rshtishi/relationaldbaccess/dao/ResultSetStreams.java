@@ -0,0 +1,101 @@
+package com.rshtishi.relationaldbaccess.dao;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.Cleaner.Cleanable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Turns an open forward-only {@link ResultSet} into a lazily mapped
+ * {@link Stream}. The resources behind the cursor are released once, when the
+ * stream is closed, when the last row has been read, or when the stream is
+ * garbage collected without being closed.
+ */
+public final class ResultSetStreams {
+
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private ResultSetStreams() {
+	}
+
+	public static <T> Stream<T> stream(ResultSet rs, RowMapper<T> rowMapper, AutoCloseable resources) {
+		RowSpliterator<T> spliterator = new RowSpliterator<>(rs, rowMapper);
+		Cleanable cleanable = CLEANER.register(spliterator, new ResourceCleaner(resources));
+		spliterator.release = cleanable::clean;
+		return StreamSupport.stream(spliterator, false).onClose(cleanable::clean);
+	}
+
+	/**
+	 * Like {@link #stream(ResultSet, RowMapper, AutoCloseable)}, but without the
+	 * release on garbage collection, for resources that may only be released on
+	 * the thread using them, like a connection bound to a transaction.
+	 */
+	public static <T> Stream<T> streamWithoutCleaner(ResultSet rs, RowMapper<T> rowMapper, AutoCloseable resources) {
+		RowSpliterator<T> spliterator = new RowSpliterator<>(rs, rowMapper);
+		spliterator.release = new ResourceCleaner(resources);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator.release);
+	}
+
+	private static class RowSpliterator<T> extends AbstractSpliterator<T> {
+
+		private final ResultSet rs;
+		private final RowMapper<T> rowMapper;
+		private Runnable release;
+		private int rowNum;
+
+		RowSpliterator(ResultSet rs, RowMapper<T> rowMapper) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.rs = rs;
+			this.rowMapper = rowMapper;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			try {
+				if (!rs.next()) {
+					release.run();
+					return false;
+				}
+				action.accept(rowMapper.mapRow(rs, rowNum++));
+				return true;
+			} catch (SQLException e) {
+				release.run();
+				throw new RuntimeException(e);
+			}
+		}
+
+	}
+
+	// must not reference the spliterator, otherwise it would never become phantom reachable
+	private static class ResourceCleaner implements Runnable {
+
+		private final AutoCloseable resources;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		ResourceCleaner(AutoCloseable resources) {
+			this.resources = resources;
+		}
+
+		@Override
+		public void run() {
+			if (released.getAndSet(true)) {
+				return;
+			}
+			try {
+				resources.close();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.rshtishi.relationaldbaccess.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Read-only view of a customer's contact data, built by constructor expressions
+ * instead of loading {@link JpaCustomerEntity} instances. Spring Data derives
+ * the selected columns from the single constructor.
+ */
+@Data
+@AllArgsConstructor
+public class CustomerContact {
+
+	private int id;
+	private String firstName;
+	private String lastName;
+	private String phone;
+	private String email;
+
+}
@@ -0,0 +1,30 @@
+package com.rshtishi.relationaldbaccess.entity;
+
+import java.io.Serializable;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.rshtishi.relationaldbaccess.dao.CustomerDAO;
+
+/**
+ * Keeps an id chosen by the caller and draws one from the customer sequence
+ * only for id 0. Chosen ids must stay below
+ * {@link CustomerDAO#FIRST_SEQUENCE_ID}, where the sequence starts, the same
+ * rule the JDBC DAOs apply.
+ */
+public class CustomerIdGenerator extends SequenceStyleGenerator {
+
+	@Override
+	public Serializable generate(SharedSessionContractImplementor session, Object object) {
+		int id = ((JpaCustomerEntity) object).getId();
+		if (id == 0) {
+			return super.generate(session, object);
+		}
+		if (id >= CustomerDAO.FIRST_SEQUENCE_ID) {
+			throw new IllegalArgumentException("Id is reserved for the customer sequence: " + id);
+		}
+		return id;
+	}
+
+}
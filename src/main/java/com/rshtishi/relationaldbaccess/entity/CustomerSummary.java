@@ -0,0 +1,15 @@
+package com.rshtishi.relationaldbaccess.entity;
+
+/**
+ * Closed interface projection of a customer: only these columns are selected
+ * and no entity is put into the persistence context.
+ */
+public interface CustomerSummary {
+
+	int getId();
+
+	String getFirstName();
+
+	String getLastName();
+
+}
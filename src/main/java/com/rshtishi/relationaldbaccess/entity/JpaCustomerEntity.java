@@ -1,24 +1,43 @@
 package com.rshtishi.relationaldbaccess.entity;
 
+import java.io.Serializable;
+
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
-import lombok.AllArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import com.rshtishi.relationaldbaccess.dao.CustomerDAO;
+
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Table(name="customer")
 @Entity(name="Customer")
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
-public class JpaCustomerEntity  {
-	
+public class JpaCustomerEntity implements Serializable {
+
+	// the finder result cache stores serialized copies
+	private static final long serialVersionUID = 1L;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// a pooled sequence keeps inserts batchable, IDENTITY would execute each one on persist
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+	@GenericGenerator(name = "customer_seq", strategy = "com.rshtishi.relationaldbaccess.entity.CustomerIdGenerator", parameters = {
+			@Parameter(name = "sequence_name", value = "customer_seq"),
+			@Parameter(name = "initial_value", value = "" + CustomerDAO.FIRST_SEQUENCE_ID),
+			@Parameter(name = "increment_size", value = "50") })
 	private int id;
 	private String firstName;
 	private String lastName;
@@ -27,5 +46,36 @@ public class JpaCustomerEntity  {
 	private String zipCode;
 	private String city;
 	private String state;
+	// upper-cased copies computed by the database, only for case-insensitive address queries
+	@Column(insertable = false, updatable = false)
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private String zipCodeNorm;
+	@Column(insertable = false, updatable = false)
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private String cityNorm;
+	@Column(insertable = false, updatable = false)
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private String stateNorm;
+
+	public JpaCustomerEntity(int id, String firstName, String lastName, String phone, String email, String zipCode,
+			String city, String state) {
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.phone = phone;
+		this.email = email;
+		this.zipCode = zipCode;
+		this.city = city;
+		this.state = state;
+	}
 
 }
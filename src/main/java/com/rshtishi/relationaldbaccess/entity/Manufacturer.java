@@ -3,6 +3,7 @@ package com.rshtishi.relationaldbaccess.entity;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -10,6 +11,10 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,6 +23,8 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "manufacturer")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -25,10 +32,12 @@ import lombok.RequiredArgsConstructor;
 public class Manufacturer {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "manufacturer_seq")
+	@SequenceGenerator(name = "manufacturer_seq", sequenceName = "manufacturer_seq", initialValue = 3, allocationSize = 50)
 	private int id;
 	@NonNull
 	private String name;
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "manufacturer.products")
 	@ManyToMany(mappedBy = "manufacturers", cascade = { CascadeType.PERSIST, CascadeType.MERGE },fetch = FetchType.LAZY)
 	private List<Product> products = new ArrayList<>();
 
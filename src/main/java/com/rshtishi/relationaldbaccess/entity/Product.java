@@ -1,8 +1,11 @@
 package com.rshtishi.relationaldbaccess.entity;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -13,15 +16,22 @@ import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
-import javax.persistence.OneToOne;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -29,14 +39,19 @@ import lombok.RequiredArgsConstructor;
 public class Product {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+	@SequenceGenerator(name = "product_seq", sequenceName = "product_seq", initialValue = 4, allocationSize = 50)
 	private int id;
 	@NonNull
 	private String name;
 	@OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Review> reviews = new ArrayList<>();
-	@OneToOne(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-	private ProductDetails details;
+	// a set of at most one, as the inverse side of a one-to-one can not be lazy and costs a select per product
+	@OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private Set<ProductDetails> details = new HashSet<>();
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product.manufacturers")
 	@ManyToMany(cascade = { CascadeType.PERSIST, CascadeType.MERGE }, fetch = FetchType.LAZY)
 	@JoinTable(name = "product_manufacturer", joinColumns = @JoinColumn(name = "product_id"), inverseJoinColumns = @JoinColumn(name = "manufacturer_id"))
 	private List<Manufacturer> manufacturers = new ArrayList<>();
@@ -51,9 +66,16 @@ public class Product {
 		review.setProduct(null);
 	}
 
+	public ProductDetails getDetails() {
+		return details.isEmpty() ? null : details.iterator().next();
+	}
+
 	public void setDetails(ProductDetails details) {
-		this.details = details;
-		details.setProduct(this);
+		this.details.clear();
+		if (details != null) {
+			details.setProduct(this);
+			this.details.add(details);
+		}
 	}
 
 }
@@ -9,12 +9,15 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToOne;
+import javax.persistence.SequenceGenerator;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Data
@@ -24,12 +27,15 @@ import lombok.RequiredArgsConstructor;
 public class ProductDetails {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_details_seq")
+	@SequenceGenerator(name = "product_details_seq", sequenceName = "product_details_seq", initialValue = 4, allocationSize = 50)
 	private int id;
 	@NonNull private String createdBy;
 	@NonNull private LocalDateTime createdOn;
 	@OneToOne(fetch=FetchType.LAZY)
 	@JoinColumn(name="product_id")
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
 	private Product product;
 
 }
@@ -0,0 +1,34 @@
+package com.rshtishi.relationaldbaccess.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of the join table behind {@link Product#getManufacturers()}, mapped
+ * so the bulk import can insert the links through a stateless session.
+ */
+@Entity
+@Table(name = "product_manufacturer")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductManufacturer implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(name = "product_id")
+	private int productId;
+	@Id
+	@Column(name = "manufacturer_id")
+	private int manufacturerId;
+
+}
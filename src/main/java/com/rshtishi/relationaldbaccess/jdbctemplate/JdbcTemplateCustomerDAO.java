@@ -1,14 +1,43 @@
 package com.rshtishi.relationaldbaccess.jdbctemplate;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.rshtishi.relationaldbaccess.dao.BatchResult;
+import com.rshtishi.relationaldbaccess.dao.BatchResult.ChunkResult;
 import com.rshtishi.relationaldbaccess.dao.CustomerDAO;
+import com.rshtishi.relationaldbaccess.dao.CustomerRowMapper;
+import com.rshtishi.relationaldbaccess.dao.IdRange;
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
+import com.rshtishi.relationaldbaccess.dao.MultiRowInsertSql;
+import com.rshtishi.relationaldbaccess.dao.ResultSetStreams;
 import com.rshtishi.relationaldbaccess.entity.Customer;
 
 @Repository
@@ -16,22 +45,76 @@ public class JdbcTemplateCustomerDAO implements CustomerDAO {
 
 	@Autowired
 	private JdbcTemplate jdbc;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Value("${customer.jdbc.batch-size:100}")
+	private int batchSize;
+	@Value("${customer.jdbc.rows-per-insert:1}")
+	private int rowsPerInsert;
 
 	@Override
 	public void insert(Customer customer) {
-		jdbc.update(INSERT_SQL, customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getPhone(),
-				customer.getEmail(), customer.getZipCode(), customer.getCity(), customer.getState());
+		jdbc.update(INSERT_SQL, insertArguments(customer));
 	}
 
 	@Override
 	public void insert(Iterable<Customer> customers) {
-		customers.forEach(this::insert);
+		throwIfFailed(rowsPerInsert > 1 ? insertMultiRow(customers, rowsPerInsert) : insert(customers, batchSize));
+	}
+
+	@Override
+	public BatchResult insert(Iterable<Customer> customers, int batchSize) {
+		return batchUpdate(INSERT_SQL, customers, batchSize, this::insertArguments);
+	}
+
+	@Override
+	public BatchResult insertMultiRow(Iterable<Customer> customers, int rowsPerStatement) {
+		if (rowsPerStatement < 1) {
+			throw new IllegalArgumentException("Rows per statement must be positive: " + rowsPerStatement);
+		}
+		return inChunks(customers, rowsPerStatement, (rows, offset) -> {
+			List<Object> arguments = new ArrayList<>(rows.size() * MultiRowInsertSql.PARAMETERS_PER_ROW);
+			rows.forEach(customer -> arguments.addAll(Arrays.asList(insertArguments(customer))));
+			try {
+				jdbc.update(MultiRowInsertSql.forRows(rows.size()), arguments.toArray());
+				// the statement either inserts every tuple or none of them
+				int[] updateCounts = new int[rows.size()];
+				Arrays.fill(updateCounts, 1);
+				return ChunkResult.executed(offset, updateCounts);
+			} catch (DataAccessException e) {
+				return ChunkResult.failed(offset, rows.size(), e);
+			}
+		});
+	}
+
+	@Override
+	public void upsert(Customer customer) {
+		jdbc.update(UPSERT_SQL, insertArguments(customer));
+	}
+
+	@Override
+	public void upsert(Iterable<Customer> customers) {
+		throwIfFailed(upsert(customers, batchSize));
+	}
+
+	@Override
+	public BatchResult upsert(Iterable<Customer> customers, int batchSize) {
+		return batchUpdate(UPSERT_SQL, customers, batchSize, this::insertArguments);
 	}
 
 	@Override
 	public void update(Customer customer) {
-		jdbc.update(UPDATE_SQL, customer.getFirstName(), customer.getLastName(), customer.getPhone(),
-				customer.getEmail(), customer.getZipCode(), customer.getCity(), customer.getState(),customer.getId());
+		jdbc.update(UPDATE_SQL, updateArguments(customer));
+	}
+
+	@Override
+	public void update(Iterable<Customer> customers) {
+		throwIfFailed(update(customers, batchSize));
+	}
+
+	@Override
+	public BatchResult update(Iterable<Customer> customers, int batchSize) {
+		return batchUpdate(UPDATE_SQL, customers, batchSize, this::updateArguments);
 	}
 
 	@Override
@@ -39,20 +122,171 @@ public class JdbcTemplateCustomerDAO implements CustomerDAO {
 		jdbc.update(DELETE_SQL, customer.getId());
 	}
 
+	@Override
+	public void delete(Iterable<Customer> customers) {
+		throwIfFailed(delete(customers, batchSize));
+	}
+
+	@Override
+	public BatchResult delete(Iterable<Customer> customers, int batchSize) {
+		return batchUpdate(DELETE_SQL, customers, batchSize, customer -> new Object[] { customer.getId() });
+	}
+
 	@Override
 	public Customer findByCustomerId(int customerId) {
-		return jdbc.queryForObject(SELECT_ONE_SQL, this::mapRowToCustomer, customerId);
+		return jdbc.queryForObject(SELECT_ONE_SQL, new CustomerRowMapper(), customerId);
 	}
 
 	@Override
 	public List<Customer> findAll() {
-		return jdbc.query(SELECT_ALL_SQL, this::mapRowToCustomer);
+		return jdbc.query(SELECT_ALL_SQL, new CustomerRowMapper());
+	}
+
+	@Override
+	public void findAll(Consumer<Customer> consumer, int fetchSize) {
+		CustomerRowMapper rowMapper = new CustomerRowMapper();
+		jdbc.query(connection -> {
+			PreparedStatement preparedStmt = connection.prepareStatement(SELECT_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			preparedStmt.setFetchSize(fetchSize);
+			return preparedStmt;
+		}, (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+	}
+
+	@Override
+	public Stream<Customer> streamAll(int fetchSize) {
+		DataSource dataSource = jdbc.getDataSource();
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement preparedStmt = null;
+		try {
+			preparedStmt = connection.prepareStatement(SELECT_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			preparedStmt.setFetchSize(fetchSize);
+			ResultSet rs = preparedStmt.executeQuery();
+			PreparedStatement statement = preparedStmt;
+			// closes a connection of its own, only gives a transactional one back to the transaction
+			AutoCloseable resources = () -> {
+				JdbcUtils.closeStatement(statement);
+				DataSourceUtils.releaseConnection(connection, dataSource);
+			};
+			if (!DataSourceUtils.isConnectionTransactional(connection, dataSource)) {
+				return ResultSetStreams.stream(rs, new CustomerRowMapper(), resources);
+			}
+			// the cleaner thread must not touch the transaction's connection, the transaction closes the stream instead
+			Stream<Customer> customers = ResultSetStreams.streamWithoutCleaner(rs, new CustomerRowMapper(), resources);
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+					@Override
+					public void beforeCompletion() {
+						customers.close();
+					}
+
+				});
+			}
+			return customers;
+		} catch (SQLException e) {
+			JdbcUtils.closeStatement(preparedStmt);
+			DataSourceUtils.releaseConnection(connection, dataSource);
+			throw jdbc.getExceptionTranslator().translate("streamAll", SELECT_ALL_SQL, e);
+		}
+	}
+
+	@Override
+	public KeysetPage<Customer> findPage(int afterId, int limit) {
+		List<Customer> customers = jdbc.query(SELECT_PAGE_SQL, new CustomerRowMapper(), afterId,
+				KeysetPage.rowsToFetch(limit));
+		return KeysetPage.of(customers, limit, Customer::getId);
+	}
+
+	@Override
+	public List<Customer> findByIdRange(int fromId, int toId) {
+		return jdbc.query(SELECT_RANGE_SQL, new CustomerRowMapper(), fromId, toId);
+	}
+
+	@Override
+	public Optional<IdRange> findIdRange() {
+		// MIN and MAX are null on an empty table
+		return jdbc.queryForObject(SELECT_ID_RANGE_SQL, (rs, rowNum) -> rs.getObject(1) == null ? Optional.empty()
+				: Optional.of(new IdRange(rs.getInt(1), rs.getInt(2))));
+	}
+
+	private BatchResult batchUpdate(String sql, Iterable<Customer> customers, int batchSize,
+			Function<Customer, Object[]> arguments) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		}
+		return inChunks(customers, batchSize, (chunk, offset) -> executeChunk(sql, chunk, offset, arguments));
+	}
+
+	// inside a caller's transaction the chunks join it, and the caller decides on commit or rollback
+	private BatchResult inChunks(Iterable<Customer> customers, int chunkSize,
+			BiFunction<List<Customer>, Integer, ChunkResult> executor) {
+		return transactionTemplate.execute(status -> {
+			BatchResult batchResult = new BatchResult();
+			Iterator<Customer> iterator = customers.iterator();
+			int offset = 0;
+			while (iterator.hasNext() && batchResult.isSuccessful()) {
+				List<Customer> chunk = new ArrayList<>(chunkSize);
+				while (iterator.hasNext() && chunk.size() < chunkSize) {
+					chunk.add(iterator.next());
+				}
+				batchResult.addChunk(executor.apply(chunk, offset));
+				offset += chunk.size();
+			}
+			if (status.isNewTransaction() && !batchResult.isSuccessful()) {
+				status.setRollbackOnly();
+			}
+			// a failed commit throws, so the result is only returned once it holds
+			batchResult.setCommitted(status.isNewTransaction() && batchResult.isSuccessful());
+			return batchResult;
+		});
+	}
+
+	private ChunkResult executeChunk(String sql, List<Customer> chunk, int offset,
+			Function<Customer, Object[]> arguments) {
+		try {
+			int[] updateCounts = jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+
+				@Override
+				public void setValues(PreparedStatement ps, int i) throws SQLException {
+					new ArgumentPreparedStatementSetter(arguments.apply(chunk.get(i))).setValues(ps);
+				}
+
+				@Override
+				public int getBatchSize() {
+					return chunk.size();
+				}
+
+			});
+			return ChunkResult.executed(offset, updateCounts);
+		} catch (DataAccessException e) {
+			return ChunkResult.failed(offset, chunk.size(), e);
+		}
+	}
+
+	private void throwIfFailed(BatchResult result) {
+		result.getFailure().ifPresent(failure -> {
+			throw (DataAccessException) failure;
+		});
+	}
+
+	private Object[] insertArguments(Customer customer) {
+		checkId(customer);
+		return new Object[] { customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getPhone(),
+				customer.getEmail(), customer.getZipCode(), customer.getCity(), customer.getState() };
+	}
+
+	private void checkId(Customer customer) {
+		if (customer.getId() >= FIRST_SEQUENCE_ID) {
+			throw new IllegalArgumentException("Id is reserved for the customer sequence: " + customer.getId());
+		}
 	}
 
-	private Customer mapRowToCustomer(ResultSet rs, int rownum) throws SQLException {
-		return new Customer(rs.getInt("ID"), rs.getString("FIRST_NAME"), rs.getString("LAST_NAME"),
-				rs.getString("PHONE"), rs.getString("EMAIL"), rs.getString("ZIP_CODE"), rs.getString("CITY"),
-				rs.getString("STATE"));
+	private Object[] updateArguments(Customer customer) {
+		return new Object[] { customer.getFirstName(), customer.getLastName(), customer.getPhone(),
+				customer.getEmail(), customer.getZipCode(), customer.getCity(), customer.getState(),
+				customer.getId() };
 	}
 
 }
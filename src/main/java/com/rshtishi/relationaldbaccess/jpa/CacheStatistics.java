@@ -0,0 +1,46 @@
+package com.rshtishi.relationaldbaccess.jpa;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit, miss and put counts of the Hibernate second-level and query cache
+ * regions. The counts stay at zero unless
+ * {@code hibernate.generate_statistics} is enabled.
+ */
+@Component
+public class CacheStatistics {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	public Map<String, CacheRegionStatistics> getRegionStatistics() {
+		Statistics statistics = getStatistics();
+		Map<String, CacheRegionStatistics> regions = new TreeMap<>();
+		for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+			regions.put(regionName, statistics.getCacheRegionStatistics(regionName));
+		}
+		return regions;
+	}
+
+	public CacheRegionStatistics getRegionStatistics(String regionName) {
+		return getStatistics().getCacheRegionStatistics(regionName);
+	}
+
+	public void clear() {
+		getStatistics().clear();
+	}
+
+	private Statistics getStatistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+}
@@ -1,15 +1,20 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.rshtishi.relationaldbaccess.dao.JpaCustomerDAO;
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
 import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
 
 @Repository
@@ -17,6 +22,8 @@ public class JpaCustomerDAOImp implements JpaCustomerDAO {
 
 	@PersistenceContext
 	private EntityManager entityManager;
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int batchSize;
 
 	@Transactional(readOnly = true)
 	@Override
@@ -26,22 +33,58 @@ public class JpaCustomerDAOImp implements JpaCustomerDAO {
 		return query.getResultList();
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public void findAll(Consumer<JpaCustomerEntity> consumer, int fetchSize) {
+		try (Stream<JpaCustomerEntity> customers = streamAll(fetchSize)) {
+			customers.forEach(consumer);
+		}
+	}
+
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	@Override
+	public Stream<JpaCustomerEntity> streamAll(int fetchSize) {
+		return ReadOnlyQueries.stream(entityManager, entityManager.createQuery("Select c from Customer c", JpaCustomerEntity.class),
+				fetchSize);
+	}
+
 	@Transactional(readOnly = true)
 	@Override
 	public JpaCustomerEntity findById(int id) {
 		return entityManager.find(JpaCustomerEntity.class, id);
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public KeysetPage<JpaCustomerEntity> findPage(int afterId, int limit) {
+		TypedQuery<JpaCustomerEntity> query = entityManager
+				.createQuery("Select c from Customer c where c.id > :afterId order by c.id", JpaCustomerEntity.class)
+				.setParameter("afterId", afterId).setMaxResults(KeysetPage.rowsToFetch(limit));
+		return KeysetPage.of(query.getResultList(), limit, JpaCustomerEntity::getId);
+	}
+
 	@Transactional
 	@Override
 	public void save(JpaCustomerEntity customer) {
-		entityManager.merge(customer);
+		persistOrMerge(customer);
 	}
-	
+
+	/**
+	 * Flushes and clears the persistence context every {@code batchSize}
+	 * customers, so the inserts go out in JDBC batches and the context stays
+	 * small. Entities loaded earlier in the same transaction become detached.
+	 */
 	@Transactional
 	@Override
 	public void saveAll(List<JpaCustomerEntity> customers) {
-		customers.forEach(this::save);
+		int count = 0;
+		for (JpaCustomerEntity customer : customers) {
+			persistOrMerge(customer);
+			if (++count % batchSize == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
 	}
 
 	@Transactional
@@ -51,4 +94,13 @@ public class JpaCustomerDAOImp implements JpaCustomerDAO {
 		entityManager.remove(customer);
 	}
 
+	// persist takes the id from the sequence without a select, merge has to look the row up first
+	private void persistOrMerge(JpaCustomerEntity customer) {
+		if (customer.getId() == 0) {
+			entityManager.persist(customer);
+		} else {
+			entityManager.merge(customer);
+		}
+	}
+
 }
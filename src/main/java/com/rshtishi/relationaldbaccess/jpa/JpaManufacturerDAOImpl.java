@@ -1,17 +1,25 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPADeleteClause;
 import com.rshtishi.relationaldbaccess.dao.JpaManufacturerDAO;
 import com.rshtishi.relationaldbaccess.entity.Manufacturer;
-import com.rshtishi.relationaldbaccess.entity.Product;
+import com.rshtishi.relationaldbaccess.entity.QManufacturer;
 
 @Repository
 public class JpaManufacturerDAOImpl implements JpaManufacturerDAO {
@@ -22,10 +30,26 @@ public class JpaManufacturerDAOImpl implements JpaManufacturerDAO {
 	@Transactional(readOnly = true)
 	@Override
 	public List<Manufacturer> findAll() {
-		TypedQuery<Manufacturer> query = entityManager.createQuery("Select m from Manufacturer m", Manufacturer.class);
+		TypedQuery<Manufacturer> query = entityManager.createQuery("Select m from Manufacturer m", Manufacturer.class)
+				.setHint(QueryHints.HINT_CACHEABLE, true).setHint(QueryHints.HINT_CACHE_REGION, "manufacturer.queries");
 		return query.getResultList();
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public void findAll(Consumer<Manufacturer> consumer, int fetchSize) {
+		try (Stream<Manufacturer> manufacturers = streamAll(fetchSize)) {
+			manufacturers.forEach(consumer);
+		}
+	}
+
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	@Override
+	public Stream<Manufacturer> streamAll(int fetchSize) {
+		return ReadOnlyQueries.stream(entityManager, entityManager.createQuery("Select m from Manufacturer m", Manufacturer.class),
+				fetchSize);
+	}
+
 	@Transactional(readOnly = true)
 	@Override
 	public Manufacturer findById(int id) {
@@ -42,11 +66,27 @@ public class JpaManufacturerDAOImpl implements JpaManufacturerDAO {
 	@Transactional
 	@Override
 	public void delete(int id) {
-		Manufacturer manufacturer = entityManager.find(Manufacturer.class, id);
-		for(Product product:manufacturer.getProducts()) {
-			manufacturer.removeProduct(product);
+		deleteAllById(Collections.singletonList(id));
+	}
+
+	@Transactional
+	@Override
+	public int deleteAllById(Collection<Integer> ids) {
+		if (ids.isEmpty()) {
+			return 0;
 		}
-		entityManager.remove(manufacturer);
+		return deleteAll(QManufacturer.manufacturer.id.in(ids));
+	}
+
+	@Transactional
+	@Override
+	public int deleteAll(Predicate predicate) {
+		QManufacturer qManufacturer = QManufacturer.manufacturer;
+		entityManager.flush();
+		// Hibernate first deletes the product links by a subquery and evicts the cached collections of both sides
+		long deleted = new JPADeleteClause(entityManager, qManufacturer).where(predicate).execute();
+		entityManager.clear();
+		return (int) deleted;
 	}
 
 }
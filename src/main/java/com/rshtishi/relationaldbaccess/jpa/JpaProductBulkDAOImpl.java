@@ -0,0 +1,205 @@
+package com.rshtishi.relationaldbaccess.jpa;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.rshtishi.relationaldbaccess.dao.JpaProductBulkDAO;
+import com.rshtishi.relationaldbaccess.entity.Manufacturer;
+import com.rshtishi.relationaldbaccess.entity.Product;
+import com.rshtishi.relationaldbaccess.entity.ProductDetails;
+import com.rshtishi.relationaldbaccess.entity.ProductManufacturer;
+import com.rshtishi.relationaldbaccess.entity.Review;
+
+/**
+ * Bulk import and export of the product graph through a {@link StatelessSession}:
+ * no persistence context, no cascades, no second-level cache, and inserts go out
+ * in JDBC batches of {@code hibernate.jdbc.batch_size}.
+ */
+@Repository
+public class JpaProductBulkDAOImpl implements JpaProductBulkDAO {
+
+	private static final String SELECT_PRODUCTS = "Select p.id, p.name from Product p order by p.id";
+	private static final String SELECT_REVIEWS = "Select r.product.id, r.id, r.comment from Review r order by r.product.id, r.id";
+	private static final String SELECT_DETAILS = "Select d.product.id, d.id, d.createdBy, d.createdOn from ProductDetails d order by d.product.id, d.id";
+	private static final String SELECT_MANUFACTURERS_SQL = "SELECT pm.product_id, m.id, m.name FROM product_manufacturer pm JOIN manufacturer m ON m.id = pm.manufacturer_id ORDER BY pm.product_id, m.id";
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int batchSize;
+
+	@Override
+	public int importProducts(Iterable<Product> products) {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		StatelessSession session = sessionFactory.openStatelessSession();
+		int count = 0;
+		try {
+			Transaction transaction = session.beginTransaction();
+			try {
+				List<Product> chunk = new ArrayList<>(batchSize);
+				for (Product product : products) {
+					chunk.add(product);
+					if (chunk.size() == batchSize) {
+						insertChunk(session, chunk);
+						count += chunk.size();
+						chunk.clear();
+					}
+				}
+				insertChunk(session, chunk);
+				count += chunk.size();
+				transaction.commit();
+			} catch (RuntimeException e) {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
+				throw e;
+			}
+		} finally {
+			session.close();
+		}
+		// the stateless session bypasses the cache, so cached queries and inverse collections are stale now
+		Cache cache = sessionFactory.getCache();
+		cache.evictQueryRegions();
+		cache.evictCollectionData(Manufacturer.class.getName() + ".products");
+		return count;
+	}
+
+	@Override
+	public void exportProducts(Consumer<Product> consumer) {
+		StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession();
+		try {
+			Transaction transaction = session.beginTransaction();
+			try {
+				try (ScrollableResults products = scroll(session.createQuery(SELECT_PRODUCTS));
+						RowCursor reviews = new RowCursor(scroll(session.createQuery(SELECT_REVIEWS)));
+						RowCursor details = new RowCursor(scroll(session.createQuery(SELECT_DETAILS)));
+						RowCursor manufacturers = new RowCursor(scroll(session.createNativeQuery(SELECT_MANUFACTURERS_SQL)))) {
+					while (products.next()) {
+						Product product = new Product((String) products.get(1));
+						product.setId(((Number) products.get(0)).intValue());
+						for (Object[] row = reviews.nextFor(product.getId()); row != null; row = reviews
+								.nextFor(product.getId())) {
+							Review review = new Review((String) row[2]);
+							review.setId(((Number) row[1]).intValue());
+							product.addReview(review);
+						}
+						for (Object[] row = details.nextFor(product.getId()); row != null; row = details
+								.nextFor(product.getId())) {
+							ProductDetails productDetails = new ProductDetails((String) row[2], (LocalDateTime) row[3]);
+							productDetails.setId(((Number) row[1]).intValue());
+							product.setDetails(productDetails);
+						}
+						for (Object[] row = manufacturers.nextFor(product.getId()); row != null; row = manufacturers
+								.nextFor(product.getId())) {
+							Manufacturer manufacturer = new Manufacturer((String) row[2]);
+							manufacturer.setId(((Number) row[1]).intValue());
+							product.getManufacturers().add(manufacturer);
+						}
+						consumer.accept(product);
+					}
+				}
+				transaction.commit();
+			} catch (RuntimeException e) {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
+				throw e;
+			}
+		} finally {
+			session.close();
+		}
+	}
+
+	// one entity type after the other, so that every type fills whole JDBC batches
+	private void insertChunk(StatelessSession session, List<Product> chunk) {
+		for (Product product : chunk) {
+			for (Manufacturer manufacturer : product.getManufacturers()) {
+				if (manufacturer.getId() == 0) {
+					session.insert(manufacturer);
+				}
+			}
+		}
+		chunk.forEach(session::insert);
+		for (Product product : chunk) {
+			for (Review review : product.getReviews()) {
+				review.setProduct(product);
+				session.insert(review);
+			}
+		}
+		for (Product product : chunk) {
+			if (product.getDetails() != null) {
+				product.getDetails().setProduct(product);
+				session.insert(product.getDetails());
+			}
+		}
+		// the join rows go last, the switch of entity type executes the batches of the rows they reference
+		for (Product product : chunk) {
+			for (Manufacturer manufacturer : product.getManufacturers()) {
+				session.insert(new ProductManufacturer(product.getId(), manufacturer.getId()));
+			}
+		}
+	}
+
+	private ScrollableResults scroll(Query<?> query) {
+		return query.setFetchSize(batchSize).setReadOnly(true).scroll(ScrollMode.FORWARD_ONLY);
+	}
+
+	/**
+	 * Walks the rows of one child table, ordered by product id, alongside the
+	 * product cursor.
+	 */
+	private static class RowCursor implements AutoCloseable {
+
+		private final ScrollableResults results;
+		private Object[] row;
+
+		RowCursor(ScrollableResults results) {
+			this.results = results;
+			advance();
+		}
+
+		/** Returns the next row of the product, or {@code null} once its rows are used up. */
+		Object[] nextFor(int productId) {
+			// every cursor is ordered by product id, so rows behind the current product can be skipped
+			while (row != null && productIdOf(row) < productId) {
+				advance();
+			}
+			if (row == null || productIdOf(row) != productId) {
+				return null;
+			}
+			Object[] current = row;
+			advance();
+			return current;
+		}
+
+		@Override
+		public void close() {
+			results.close();
+		}
+
+		private void advance() {
+			row = results.next() ? results.get() : null;
+		}
+
+		private static int productIdOf(Object[] row) {
+			return ((Number) row[0]).intValue();
+		}
+
+	}
+
+}
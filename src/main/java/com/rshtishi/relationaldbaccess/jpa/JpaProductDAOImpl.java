@@ -1,16 +1,30 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPADeleteClause;
 import com.rshtishi.relationaldbaccess.dao.JpaProductDAO;
+import com.rshtishi.relationaldbaccess.dao.ProductFetchPlan;
 import com.rshtishi.relationaldbaccess.entity.Product;
+import com.rshtishi.relationaldbaccess.entity.QProduct;
+import com.rshtishi.relationaldbaccess.entity.QProductDetails;
+import com.rshtishi.relationaldbaccess.entity.QReview;
 
 @Repository
 public class JpaProductDAOImpl implements JpaProductDAO {
@@ -21,11 +35,47 @@ public class JpaProductDAOImpl implements JpaProductDAO {
 	@Transactional(readOnly = true)
 	@Override
 	public List<Product> findAll() {
-		TypedQuery<Product> query = entityManager.createQuery("Select p from Product p",
-				Product.class);
+		TypedQuery<Product> query = entityManager.createQuery("Select p from Product p", Product.class)
+				.setHint(QueryHints.HINT_CACHEABLE, true).setHint(QueryHints.HINT_CACHE_REGION, "product.queries");
 		return query.getResultList();
 	}
 	
+	@Transactional(readOnly = true)
+	@Override
+	public List<Product> findAll(ProductFetchPlan fetchPlan) {
+		String joins = "left join fetch p.details";
+		if (fetchPlan == ProductFetchPlan.WITH_REVIEWS || fetchPlan == ProductFetchPlan.FULL) {
+			joins += " left join fetch p.reviews";
+		} else if (fetchPlan == ProductFetchPlan.WITH_MANUFACTURERS) {
+			joins += " left join fetch p.manufacturers";
+		}
+		List<Product> products = entityManager
+				.createQuery("Select distinct p from Product p " + joins, Product.class)
+				.setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false).getResultList();
+		if (fetchPlan == ProductFetchPlan.FULL && !products.isEmpty()) {
+			// repeats the unrestricted first query, so it initializes the manufacturers of the products already in
+			// the persistence context without binding each of them
+			entityManager.createQuery("Select distinct p from Product p left join fetch p.manufacturers", Product.class)
+					.setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false).getResultList();
+		}
+		return products;
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public void findAll(Consumer<Product> consumer, int fetchSize) {
+		try (Stream<Product> products = streamAll(fetchSize)) {
+			products.forEach(consumer);
+		}
+	}
+
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	@Override
+	public Stream<Product> streamAll(int fetchSize) {
+		return ReadOnlyQueries.stream(entityManager, entityManager.createQuery("Select p from Product p", Product.class),
+				fetchSize);
+	}
+
 	@Transactional(readOnly = true)
 	@Override
 	public Product findById(int id) {
@@ -43,8 +93,32 @@ public class JpaProductDAOImpl implements JpaProductDAO {
 	@Transactional
 	@Override
 	public void delete(int id) {
-		Product product = entityManager.find(Product.class,id);
-		entityManager.remove(product);
+		deleteAllById(Collections.singletonList(id));
+	}
+
+	@Transactional
+	@Override
+	public int deleteAllById(Collection<Integer> ids) {
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		return deleteAll(QProduct.product.id.in(ids));
+	}
+
+	@Transactional
+	@Override
+	public int deleteAll(Predicate predicate) {
+		QProduct qProduct = QProduct.product;
+		QReview qReview = QReview.review;
+		QProductDetails qDetails = QProductDetails.productDetails;
+		JPQLQuery<Integer> productIds = JPAExpressions.select(qProduct.id).from(qProduct).where(predicate);
+		entityManager.flush();
+		new JPADeleteClause(entityManager, qReview).where(qReview.product.id.in(productIds)).execute();
+		new JPADeleteClause(entityManager, qDetails).where(qDetails.product.id.in(productIds)).execute();
+		// Hibernate first deletes the manufacturer links by a subquery and evicts the cached collections of both sides
+		long deleted = new JPADeleteClause(entityManager, qProduct).where(predicate).execute();
+		entityManager.clear();
+		return (int) deleted;
 	}
 
 }
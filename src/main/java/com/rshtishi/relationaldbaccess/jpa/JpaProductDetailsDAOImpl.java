@@ -1,12 +1,15 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.rshtishi.relationaldbaccess.dao.JpaProductDetailsDAO;
@@ -27,6 +30,21 @@ public class JpaProductDetailsDAOImpl implements JpaProductDetailsDAO {
 		return query.getResultList();
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public void findAll(Consumer<ProductDetails> consumer, int fetchSize) {
+		try (Stream<ProductDetails> productDetails = streamAll(fetchSize)) {
+			productDetails.forEach(consumer);
+		}
+	}
+
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	@Override
+	public Stream<ProductDetails> streamAll(int fetchSize) {
+		return ReadOnlyQueries.stream(entityManager, entityManager.createQuery("Select pd from ProductDetails pd", ProductDetails.class),
+				fetchSize);
+	}
+
 	@Transactional(readOnly = true)
 	@Override
 	public ProductDetails findById(int id) {
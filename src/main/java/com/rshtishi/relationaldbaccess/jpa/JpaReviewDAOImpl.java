@@ -1,12 +1,15 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.rshtishi.relationaldbaccess.dao.JpaReviewDAO;
@@ -26,6 +29,21 @@ public class JpaReviewDAOImpl implements JpaReviewDAO {
 
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public void findAll(Consumer<Review> consumer, int fetchSize) {
+		try (Stream<Review> reviews = streamAll(fetchSize)) {
+			reviews.forEach(consumer);
+		}
+	}
+
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	@Override
+	public Stream<Review> streamAll(int fetchSize) {
+		return ReadOnlyQueries.stream(entityManager, entityManager.createQuery("Select r from Review r", Review.class),
+				fetchSize);
+	}
+
 	@Transactional(readOnly = true)
 	@Override
 	public Review findById(int id) {
@@ -0,0 +1,89 @@
+package com.rshtishi.relationaldbaccess.jpa;
+
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.Query;
+
+/**
+ * Read-optimized query mode of the JPA DAOs. Entities are loaded read-only, so
+ * Hibernate keeps no snapshot of them for dirty checking, and the query never
+ * flushes the session. The streaming variant scrolls a forward-only cursor and
+ * detaches every entity, with its cascaded associations, once the stream moves
+ * past it, so the persistence context does not grow with the result.
+ * <p>
+ * The stream must be consumed and closed inside the transaction that opened
+ * it, as the cursor lives on the session of that transaction.
+ */
+final class ReadOnlyQueries {
+
+	private ReadOnlyQueries() {
+	}
+
+	static <T> TypedQuery<T> readOnly(TypedQuery<T> query, int fetchSize) {
+		if (fetchSize < 1) {
+			throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+		}
+		return query.setHint(QueryHints.HINT_READONLY, true).setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+				.setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+	}
+
+	static <T> Stream<T> stream(EntityManager entityManager, TypedQuery<T> query, int fetchSize) {
+		Session session = entityManager.unwrap(Session.class);
+		ScrollableResults results = readOnly(query, fetchSize).unwrap(Query.class).scroll(ScrollMode.FORWARD_ONLY);
+		EntitySpliterator<T> spliterator = new EntitySpliterator<>(session, results);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+	}
+
+	private static class EntitySpliterator<T> extends AbstractSpliterator<T> {
+
+		private final Session session;
+		private final ScrollableResults results;
+		private T current;
+
+		EntitySpliterator(Session session, ScrollableResults results) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.session = session;
+			this.results = results;
+		}
+
+		// the current entity stays attached while the pipeline handles it, so its lazy associations can still load
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			detachCurrent();
+			if (!results.next()) {
+				close();
+				return false;
+			}
+			current = (T) results.get(0);
+			action.accept(current);
+			return true;
+		}
+
+		void close() {
+			detachCurrent();
+			results.close();
+		}
+
+		private void detachCurrent() {
+			if (current != null) {
+				session.detach(current);
+				current = null;
+			}
+		}
+
+	}
+
+}
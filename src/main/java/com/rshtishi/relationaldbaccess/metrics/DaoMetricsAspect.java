@@ -0,0 +1,99 @@
+package com.rshtishi.relationaldbaccess.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method of the {@code @Repository} DAOs and the Spring Data
+ * repositories as {@code dao.calls}, with a latency histogram tagged by DAO,
+ * method and exception. Methods returning a list, page, slice, keyset page or
+ * optional also record the number of rows in {@code dao.rows}. The SQL
+ * statements each call sent through the {@link StatementCounter} are recorded
+ * in {@code dao.call.statements}, including those of the DAOs it called. A
+ * returned stream is only timed and counted until it is opened.
+ * <p>
+ * Entity loads, collection fetches and cache hits of the JPA DAOs come from the
+ * {@code hibernate.*} meters Spring Boot binds to the Hibernate statistics,
+ * once {@code hibernate.generate_statistics} is enabled.
+ */
+@Aspect
+@Component
+public class DaoMetricsAspect {
+
+	private final MeterRegistry meterRegistry;
+	private final StatementCounter statementCounter;
+	private final Map<Class<?>, String> daoNames = new ConcurrentHashMap<>();
+
+	public DaoMetricsAspect(MeterRegistry meterRegistry, StatementCounter statementCounter) {
+		this.meterRegistry = meterRegistry;
+		this.statementCounter = statementCounter;
+	}
+
+	@Around("execution(public * *(..)) && (@within(org.springframework.stereotype.Repository) "
+			+ "|| this(org.springframework.data.repository.Repository))")
+	public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+		String dao = daoNames.computeIfAbsent(joinPoint.getThis().getClass(), this::daoName);
+		String method = joinPoint.getSignature().getName();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		StatementCounts statements = statementCounter.start();
+		String exception = "none";
+		try {
+			Object result = joinPoint.proceed();
+			recordRows(dao, method, result);
+			return result;
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			statementCounter.stop(statements);
+			DistributionSummary.builder("dao.call.statements").baseUnit("statements").tag("dao", dao)
+					.tag("method", method).register(meterRegistry).record(statements.getTotal());
+			sample.stop(Timer.builder("dao.calls").tag("dao", dao).tag("method", method).tag("exception", exception)
+					.publishPercentileHistogram().register(meterRegistry));
+		}
+	}
+
+	private void recordRows(String dao, String method, Object result) {
+		int rows;
+		if (result instanceof Collection) {
+			rows = ((Collection<?>) result).size();
+		} else if (result instanceof Slice) {
+			rows = ((Slice<?>) result).getNumberOfElements();
+		} else if (result instanceof KeysetPage) {
+			rows = ((KeysetPage<?>) result).getContent().size();
+		} else if (result instanceof Optional) {
+			rows = ((Optional<?>) result).isPresent() ? 1 : 0;
+		} else {
+			return;
+		}
+		DistributionSummary.builder("dao.rows").baseUnit("rows").tag("dao", dao).tag("method", method)
+				.register(meterRegistry).record(rows);
+	}
+
+	// Spring Data repositories are JDK proxies around SimpleJpaRepository, they are named after the repository interface
+	private String daoName(Class<?> proxyClass) {
+		for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+			if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("com.rshtishi.")) {
+				return type.getSimpleName();
+			}
+		}
+		return ClassUtils.getUserClass(proxyClass).getSimpleName();
+	}
+
+}
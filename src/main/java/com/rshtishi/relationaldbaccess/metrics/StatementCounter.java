@@ -0,0 +1,108 @@
+package com.rshtishi.relationaldbaccess.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.rshtishi.relationaldbaccess.metrics.StatementCounts.Type;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Counts the statements executed through the proxied {@code DataSource}. The
+ * totals are published as the {@code dao.statements} meter by type. A
+ * recording started with {@link #start()} or {@link #count(Runnable)} also
+ * counts the statements of the current thread by shape; calls handed to other
+ * threads, like the async and parallel customer DAOs, are not included.
+ * <p>
+ * A JDBC batch counts as one statement, as it is one round trip.
+ */
+@Component
+public class StatementCounter implements QueryExecutionListener, MeterBinder {
+
+	private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+	private static final Pattern IN_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private final ThreadLocal<Deque<StatementCounts>> recordings = ThreadLocal.withInitial(ArrayDeque::new);
+	private final Map<Type, LongAdder> totals = new EnumMap<>(Type.class);
+
+	public StatementCounter() {
+		for (Type type : Type.values()) {
+			totals.put(type, new LongAdder());
+		}
+	}
+
+	public StatementCounts count(Runnable call) {
+		StatementCounts counts = start();
+		try {
+			call.run();
+		} finally {
+			stop(counts);
+		}
+		return counts;
+	}
+
+	/**
+	 * Starts counting the statements of the current thread. Recordings may be
+	 * nested, a statement counts in every active one.
+	 */
+	public StatementCounts start() {
+		StatementCounts counts = new StatementCounts();
+		recordings.get().push(counts);
+		return counts;
+	}
+
+	public void stop(StatementCounts counts) {
+		Deque<StatementCounts> active = recordings.get();
+		active.remove(counts);
+		if (active.isEmpty()) {
+			recordings.remove();
+		}
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		Deque<StatementCounts> active = recordings.get();
+		for (QueryInfo queryInfo : queryInfoList) {
+			String shape = shapeOf(queryInfo.getQuery());
+			Type type = Type.of(shape);
+			totals.get(type).increment();
+			for (StatementCounts counts : active) {
+				counts.add(type, shape);
+			}
+		}
+		if (active.isEmpty()) {
+			recordings.remove();
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		totals.forEach((type, total) -> FunctionCounter.builder("dao.statements", total, LongAdder::doubleValue)
+				.tag("type", type.name().toLowerCase()).description("SQL statements sent to the database")
+				.register(registry));
+	}
+
+	static String shapeOf(String sql) {
+		String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+		shape = LITERALS.matcher(shape).replaceAll("?");
+		return IN_LISTS.matcher(shape).replaceAll("(?...)");
+	}
+
+}
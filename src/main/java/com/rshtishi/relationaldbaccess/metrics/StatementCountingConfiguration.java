@@ -0,0 +1,53 @@
+package com.rshtishi.relationaldbaccess.metrics;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Routes the connections of every {@link DataSource} through a datasource-proxy
+ * that reports the executed statements to the {@link StatementCounter}, so all
+ * four DAO styles are counted the same way. The data source bean keeps its
+ * class, only {@code getConnection} is redirected.
+ */
+@Configuration
+public class StatementCountingConfiguration {
+
+	// static, as a post processor must not wait for this configuration class to be created
+	@Bean
+	public static BeanPostProcessor statementCountingDataSourcePostProcessor(
+			ObjectProvider<StatementCounter> statementCounter) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource) || AopUtils.isAopProxy(bean)) {
+					return bean;
+				}
+				DataSource countingDataSource = ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+						.listener(statementCounter.getObject()).build();
+				ProxyFactory proxyFactory = new ProxyFactory(bean);
+				proxyFactory.setProxyTargetClass(true);
+				proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+					if (!invocation.getMethod().getName().equals("getConnection")) {
+						return invocation.proceed();
+					}
+					Object[] arguments = invocation.getArguments();
+					return arguments.length == 0 ? countingDataSource.getConnection()
+							: countingDataSource.getConnection((String) arguments[0], (String) arguments[1]);
+				});
+				return proxyFactory.getProxy();
+			}
+
+		};
+	}
+
+}
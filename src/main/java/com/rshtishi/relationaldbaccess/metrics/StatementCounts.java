@@ -0,0 +1,80 @@
+package com.rshtishi.relationaldbaccess.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements executed on one thread while a {@link StatementCounter}
+ * recording was active, by type and by shape. The shape is the statement with
+ * its literals and IN lists replaced by placeholders, so the same query with
+ * other arguments counts as a repeat.
+ */
+public class StatementCounts {
+
+	public enum Type {
+		SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+		static Type of(String sql) {
+			String keyword = sql.trim().split("\\s", 2)[0].toUpperCase();
+			switch (keyword) {
+			case "SELECT":
+			case "WITH":
+				return SELECT;
+			case "INSERT":
+				return INSERT;
+			case "UPDATE":
+				return UPDATE;
+			case "DELETE":
+				return DELETE;
+			default:
+				return OTHER;
+			}
+		}
+	}
+
+	private final Map<Type, Integer> types = new EnumMap<>(Type.class);
+	private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+	void add(Type type, String shape) {
+		types.merge(type, 1, Integer::sum);
+		shapes.merge(shape, 1, Integer::sum);
+	}
+
+	public int getCount(Type type) {
+		return types.getOrDefault(type, 0);
+	}
+
+	public int getSelects() {
+		return getCount(Type.SELECT);
+	}
+
+	public int getTotal() {
+		return types.values().stream().mapToInt(Integer::intValue).sum();
+	}
+
+	public Map<String, Integer> getShapes() {
+		return Collections.unmodifiableMap(shapes);
+	}
+
+	/**
+	 * Shapes executed more than {@code threshold} times, which usually means a
+	 * lazy association was loaded row by row.
+	 */
+	public Map<String, Integer> getRepeatedShapes(int threshold) {
+		Map<String, Integer> repeated = new LinkedHashMap<>();
+		shapes.forEach((shape, count) -> {
+			if (count > threshold) {
+				repeated.put(shape, count);
+			}
+		});
+		return repeated;
+	}
+
+	@Override
+	public String toString() {
+		return "StatementCounts(types=" + types + ", shapes=" + shapes + ")";
+	}
+
+}
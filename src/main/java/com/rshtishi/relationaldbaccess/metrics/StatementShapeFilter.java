@@ -0,0 +1,50 @@
+package com.rshtishi.relationaldbaccess.metrics;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Counts the statements of every request and logs a warning for each
+ * statement shape the request executed more than
+ * {@code dao.statements.repeat-threshold} times, the usual sign of an N+1
+ * select.
+ */
+@Component
+public class StatementShapeFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(StatementShapeFilter.class);
+
+	private final StatementCounter statementCounter;
+	private final int repeatThreshold;
+
+	public StatementShapeFilter(StatementCounter statementCounter,
+			@Value("${dao.statements.repeat-threshold:10}") int repeatThreshold) {
+		this.statementCounter = statementCounter;
+		this.repeatThreshold = repeatThreshold;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		StatementCounts counts = statementCounter.start();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			statementCounter.stop(counts);
+			counts.getRepeatedShapes(repeatThreshold)
+					.forEach((shape, count) -> logger.warn("{} {} executed the same statement {} times: {}",
+							request.getMethod(), request.getRequestURI(), count, shape));
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.rshtishi.relationaldbaccess.rawjdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Pins one connection to the current thread and caches a prepared statement per
+ * SQL string, so a sequence of DAO calls parses and plans every statement only
+ * once. A scope is either opened explicitly with {@link #begin(DataSource)} and
+ * closed by the caller, or opened on demand inside a Spring transaction, where
+ * it uses the transaction's connection and ends with it.
+ */
+public final class JdbcUnitOfWork implements AutoCloseable {
+
+	private final ScopeKey key;
+	private final Connection connection;
+	private final boolean transactionBound;
+	private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+	private JdbcUnitOfWork(ScopeKey key, Connection connection, boolean transactionBound) {
+		this.key = key;
+		this.connection = connection;
+		this.transactionBound = transactionBound;
+	}
+
+	public static JdbcUnitOfWork begin(DataSource dataSource) {
+		ScopeKey key = new ScopeKey(dataSource);
+		if (TransactionSynchronizationManager.hasResource(key)) {
+			throw new IllegalStateException("A unit of work is already active for this data source");
+		}
+		try {
+			JdbcUnitOfWork unitOfWork = new JdbcUnitOfWork(key, dataSource.getConnection(), false);
+			TransactionSynchronizationManager.bindResource(key, unitOfWork);
+			return unitOfWork;
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Returns the unit of work bound to the current thread, opening one for the
+	 * active Spring transaction if needed, or {@code null} outside of both.
+	 */
+	public static JdbcUnitOfWork current(DataSource dataSource) {
+		ScopeKey key = new ScopeKey(dataSource);
+		JdbcUnitOfWork unitOfWork = (JdbcUnitOfWork) TransactionSynchronizationManager.getResource(key);
+		if (unitOfWork == null && TransactionSynchronizationManager.isActualTransactionActive()
+				&& TransactionSynchronizationManager.isSynchronizationActive()) {
+			JdbcUnitOfWork transactionUnitOfWork = new JdbcUnitOfWork(key, DataSourceUtils.getConnection(dataSource),
+					true);
+			TransactionSynchronizationManager.bindResource(key, transactionUnitOfWork);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(int status) {
+					transactionUnitOfWork.close();
+				}
+
+			});
+			unitOfWork = transactionUnitOfWork;
+		}
+		return unitOfWork;
+	}
+
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		PreparedStatement preparedStmt = statements.get(sql);
+		if (preparedStmt == null) {
+			preparedStmt = connection.prepareStatement(sql);
+			statements.put(sql, preparedStmt);
+		} else {
+			preparedStmt.clearParameters();
+		}
+		return preparedStmt;
+	}
+
+	public Connection getConnection() {
+		return connection;
+	}
+
+	public int getStatementCount() {
+		return statements.size();
+	}
+
+	@Override
+	public void close() {
+		if (TransactionSynchronizationManager.getResource(key) != this) {
+			return;
+		}
+		TransactionSynchronizationManager.unbindResource(key);
+		statements.values().forEach(JdbcUtils::closeStatement);
+		statements.clear();
+		if (transactionBound) {
+			DataSourceUtils.releaseConnection(connection, key.dataSource);
+		} else {
+			JdbcUtils.closeConnection(connection);
+		}
+	}
+
+	// the data source itself is already the key of Spring's connection holder
+	private static class ScopeKey {
+
+		private final DataSource dataSource;
+
+		ScopeKey(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof ScopeKey && ((ScopeKey) other).dataSource == dataSource;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(dataSource);
+		}
+
+	}
+
+}
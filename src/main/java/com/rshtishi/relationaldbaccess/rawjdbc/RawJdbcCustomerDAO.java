@@ -5,14 +5,27 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import com.rshtishi.relationaldbaccess.dao.BatchResult;
+import com.rshtishi.relationaldbaccess.dao.BatchResult.ChunkResult;
 import com.rshtishi.relationaldbaccess.dao.CustomerDAO;
+import com.rshtishi.relationaldbaccess.dao.CustomerRowMapper;
+import com.rshtishi.relationaldbaccess.dao.IdRange;
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
+import com.rshtishi.relationaldbaccess.dao.MultiRowInsertSql;
+import com.rshtishi.relationaldbaccess.dao.ResultSetStreams;
 import com.rshtishi.relationaldbaccess.entity.Customer;
 
 @Repository
@@ -20,85 +33,322 @@ public class RawJdbcCustomerDAO implements CustomerDAO {
 
 	@Autowired
 	private DataSource dataSource;
+	@Value("${customer.jdbc.batch-size:100}")
+	private int batchSize;
+	@Value("${customer.jdbc.rows-per-insert:1}")
+	private int rowsPerInsert;
+
+	public JdbcUnitOfWork beginUnitOfWork() {
+		return JdbcUnitOfWork.begin(dataSource);
+	}
 
 	@Override
 	public void insert(Customer customer) {
-		try (Connection connection = dataSource.getConnection();
-				PreparedStatement preparedStmt = connection.prepareStatement(INSERT_SQL)) {
+		execute(INSERT_SQL, preparedStmt -> {
 			prepareInsertStatement(preparedStmt, customer);
-			preparedStmt.executeUpdate();
+			return preparedStmt.executeUpdate();
+		});
+	}
+
+	@Override
+	public void insert(Iterable<Customer> customers) {
+		throwIfFailed(rowsPerInsert > 1 ? insertMultiRow(customers, rowsPerInsert) : insert(customers, batchSize));
+	}
+
+	@Override
+	public BatchResult insert(Iterable<Customer> customers, int batchSize) {
+		return executeBatch(INSERT_SQL, customers, batchSize, this::prepareInsertStatement);
+	}
+
+	// the full and the remainder statement need the same connection, so a unit of work is opened if none is active
+	@Override
+	public BatchResult insertMultiRow(Iterable<Customer> customers, int rowsPerStatement) {
+		if (rowsPerStatement < 1) {
+			throw new IllegalArgumentException("Rows per statement must be positive: " + rowsPerStatement);
+		}
+		JdbcUnitOfWork current = JdbcUnitOfWork.current(dataSource);
+		JdbcUnitOfWork unitOfWork = current != null ? current : beginUnitOfWork();
+		try {
+			return inTransaction(unitOfWork.getConnection(), () -> {
+				BatchResult result = new BatchResult();
+				Iterator<Customer> iterator = customers.iterator();
+				List<Customer> rows = new ArrayList<>(rowsPerStatement);
+				int offset = 0;
+				while (iterator.hasNext() && result.isSuccessful()) {
+					rows.clear();
+					while (iterator.hasNext() && rows.size() < rowsPerStatement) {
+						rows.add(iterator.next());
+					}
+					result.addChunk(executeMultiRowInsert(unitOfWork, rows, offset));
+					offset += rows.size();
+				}
+				return result;
+			});
 		} catch (SQLException e) {
 			throw new RuntimeException(e);
+		} finally {
+			if (current == null) {
+				unitOfWork.close();
+			}
 		}
+	}
 
+	@Override
+	public void upsert(Customer customer) {
+		execute(UPSERT_SQL, preparedStmt -> {
+			prepareInsertStatement(preparedStmt, customer);
+			return preparedStmt.executeUpdate();
+		});
 	}
 
 	@Override
-	public void insert(Iterable<Customer> customers) {
-		customers.forEach(this::insert);
+	public void upsert(Iterable<Customer> customers) {
+		throwIfFailed(upsert(customers, batchSize));
+	}
+
+	@Override
+	public BatchResult upsert(Iterable<Customer> customers, int batchSize) {
+		return executeBatch(UPSERT_SQL, customers, batchSize, this::prepareInsertStatement);
 	}
 
 	@Override
 	public void update(Customer customer) {
-		try (Connection connection = dataSource.getConnection();
-				PreparedStatement preparedStmt = connection.prepareStatement(UPDATE_SQL)) {
+		execute(UPDATE_SQL, preparedStmt -> {
 			prepareUpdateStatement(preparedStmt, customer);
-			preparedStmt.executeUpdate();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+			return preparedStmt.executeUpdate();
+		});
+	}
+
+	@Override
+	public void update(Iterable<Customer> customers) {
+		throwIfFailed(update(customers, batchSize));
+	}
 
+	@Override
+	public BatchResult update(Iterable<Customer> customers, int batchSize) {
+		return executeBatch(UPDATE_SQL, customers, batchSize, this::prepareUpdateStatement);
 	}
 
 	@Override
 	public void delete(Customer customer) {
-		try (Connection connection = dataSource.getConnection();
-				PreparedStatement preparedStmt = connection.prepareStatement(DELETE_SQL)) {
+		execute(DELETE_SQL, preparedStmt -> {
 			preparedStmt.setInt(1, customer.getId());
-			preparedStmt.executeUpdate();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+			return preparedStmt.executeUpdate();
+		});
+	}
 
+	@Override
+	public void delete(Iterable<Customer> customers) {
+		throwIfFailed(delete(customers, batchSize));
+	}
+
+	@Override
+	public BatchResult delete(Iterable<Customer> customers, int batchSize) {
+		return executeBatch(DELETE_SQL, customers, batchSize,
+				(preparedStmt, customer) -> preparedStmt.setInt(1, customer.getId()));
 	}
 
 	@Override
 	public Customer findByCustomerId(int customerId) {
-		try (Connection connection = dataSource.getConnection();
-				PreparedStatement preparedStmt = connection.prepareStatement(SELECT_ONE_SQL)) {
+		return execute(SELECT_ONE_SQL, preparedStmt -> {
 			preparedStmt.setInt(1, customerId);
+			try (ResultSet rs = preparedStmt.executeQuery()) {
+				rs.next();
+				return new CustomerRowMapper().mapRow(rs, 0);
+			}
+		});
+	}
+
+	@Override
+	public List<Customer> findAll() {
+		return execute(SELECT_ALL_SQL, this::queryCustomers);
+	}
+
+	@Override
+	public void findAll(Consumer<Customer> consumer, int fetchSize) {
+		try (Stream<Customer> customers = streamAll(fetchSize)) {
+			customers.forEach(consumer);
+		}
+	}
+
+	// the cursor gets a connection of its own and never takes part in a unit of work
+	@Override
+	public Stream<Customer> streamAll(int fetchSize) {
+		Connection connection = null;
+		try {
+			connection = dataSource.getConnection();
+			PreparedStatement preparedStmt = connection.prepareStatement(SELECT_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			preparedStmt.setFetchSize(fetchSize);
 			ResultSet rs = preparedStmt.executeQuery();
-			rs.next();
-			return toCustomer(rs);
+			// closing the connection also closes the statement and the result set
+			return ResultSetStreams.stream(rs, new CustomerRowMapper(), connection);
 		} catch (SQLException e) {
+			closeQuietly(connection);
 			throw new RuntimeException(e);
 		}
 	}
 
 	@Override
-	public List<Customer> findAll() {
-		try (Connection connection = dataSource.getConnection();
-				PreparedStatement preparedStmt = connection.prepareStatement(SELECT_ALL_SQL)) {
-			List<Customer> customers = new ArrayList<>();
-			ResultSet rs = preparedStmt.executeQuery();
-			while (rs.next()) {
-				customers.add(toCustomer(rs));
+	public KeysetPage<Customer> findPage(int afterId, int limit) {
+		return execute(SELECT_PAGE_SQL, preparedStmt -> {
+			preparedStmt.setInt(1, afterId);
+			preparedStmt.setInt(2, KeysetPage.rowsToFetch(limit));
+			return KeysetPage.of(queryCustomers(preparedStmt), limit, Customer::getId);
+		});
+	}
+
+	@Override
+	public List<Customer> findByIdRange(int fromId, int toId) {
+		return execute(SELECT_RANGE_SQL, preparedStmt -> {
+			preparedStmt.setInt(1, fromId);
+			preparedStmt.setInt(2, toId);
+			return queryCustomers(preparedStmt);
+		});
+	}
+
+	@Override
+	public Optional<IdRange> findIdRange() {
+		return execute(SELECT_ID_RANGE_SQL, preparedStmt -> {
+			try (ResultSet rs = preparedStmt.executeQuery()) {
+				rs.next();
+				// MIN and MAX are null on an empty table
+				return rs.getObject(1) == null ? Optional.empty() : Optional.of(new IdRange(rs.getInt(1), rs.getInt(2)));
+			}
+		});
+	}
+
+	private BatchResult executeBatch(String sql, Iterable<Customer> customers, int batchSize,
+			StatementBinder binder) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		}
+		return execute(sql, preparedStmt -> inTransaction(preparedStmt.getConnection(), () -> {
+			BatchResult result = new BatchResult();
+			try {
+				Iterator<Customer> iterator = customers.iterator();
+				int offset = 0;
+				while (iterator.hasNext() && result.isSuccessful()) {
+					int size = 0;
+					while (iterator.hasNext() && size < batchSize) {
+						binder.bind(preparedStmt, iterator.next());
+						preparedStmt.addBatch();
+						size++;
+					}
+					result.addChunk(executeChunk(preparedStmt, offset, size));
+					offset += size;
+				}
+			} finally {
+				preparedStmt.clearBatch();
+			}
+			return result;
+		}));
+	}
+
+	// inside a Spring transaction the batch joins it instead of committing on its own
+	private BatchResult inTransaction(Connection connection, BatchCallback callback) throws SQLException {
+		boolean ownTransaction = connection.getAutoCommit();
+		if (ownTransaction) {
+			connection.setAutoCommit(false);
+		}
+		try {
+			BatchResult result = callback.doInTransaction();
+			if (ownTransaction && result.isSuccessful()) {
+				connection.commit();
+				result.setCommitted(true);
+			} else if (ownTransaction) {
+				connection.rollback();
+			}
+			return result;
+		} catch (SQLException | RuntimeException e) {
+			if (ownTransaction) {
+				connection.rollback();
+			}
+			throw e;
+		} finally {
+			if (ownTransaction) {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+
+	private <T> T execute(String sql, StatementCallback<T> callback) {
+		try {
+			JdbcUnitOfWork unitOfWork = JdbcUnitOfWork.current(dataSource);
+			if (unitOfWork != null) {
+				return callback.doInStatement(unitOfWork.prepareStatement(sql));
+			}
+			try (Connection connection = dataSource.getConnection();
+					PreparedStatement preparedStmt = connection.prepareStatement(sql)) {
+				return callback.doInStatement(preparedStmt);
 			}
-			return customers;
 		} catch (SQLException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	private ChunkResult executeChunk(PreparedStatement preparedStmt, int offset, int size) {
+		try {
+			return ChunkResult.executed(offset, preparedStmt.executeBatch());
+		} catch (SQLException e) {
+			return ChunkResult.failed(offset, size, e);
+		}
+	}
+
+	private ChunkResult executeMultiRowInsert(JdbcUnitOfWork unitOfWork, List<Customer> rows, int offset)
+			throws SQLException {
+		PreparedStatement preparedStmt = unitOfWork.prepareStatement(MultiRowInsertSql.forRows(rows.size()));
+		for (int i = 0; i < rows.size(); i++) {
+			prepareInsertStatement(preparedStmt, rows.get(i), i * MultiRowInsertSql.PARAMETERS_PER_ROW);
+		}
+		try {
+			preparedStmt.executeUpdate();
+			// the statement either inserts every tuple or none of them
+			int[] updateCounts = new int[rows.size()];
+			Arrays.fill(updateCounts, 1);
+			return ChunkResult.executed(offset, updateCounts);
+		} catch (SQLException e) {
+			return ChunkResult.failed(offset, rows.size(), e);
+		}
+	}
+
+	private void closeQuietly(Connection connection) {
+		if (connection != null) {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				// the original failure is more relevant
+			}
+		}
+	}
+
+	private void throwIfFailed(BatchResult result) {
+		result.getFailure().ifPresent(failure -> {
+			throw new RuntimeException(failure);
+		});
+	}
+
 	private void prepareInsertStatement(PreparedStatement preparedStmt, Customer customer) throws SQLException {
-		preparedStmt.setInt(1, customer.getId());
-		preparedStmt.setString(2, customer.getFirstName());
-		preparedStmt.setString(3, customer.getLastName());
-		preparedStmt.setString(4, customer.getPhone());
-		preparedStmt.setString(5, customer.getEmail());
-		preparedStmt.setString(6, customer.getZipCode());
-		preparedStmt.setString(7, customer.getCity());
-		preparedStmt.setString(8, customer.getState());
+		prepareInsertStatement(preparedStmt, customer, 0);
+	}
+
+	private void prepareInsertStatement(PreparedStatement preparedStmt, Customer customer, int parameterOffset)
+			throws SQLException {
+		checkId(customer);
+		preparedStmt.setInt(parameterOffset + 1, customer.getId());
+		preparedStmt.setString(parameterOffset + 2, customer.getFirstName());
+		preparedStmt.setString(parameterOffset + 3, customer.getLastName());
+		preparedStmt.setString(parameterOffset + 4, customer.getPhone());
+		preparedStmt.setString(parameterOffset + 5, customer.getEmail());
+		preparedStmt.setString(parameterOffset + 6, customer.getZipCode());
+		preparedStmt.setString(parameterOffset + 7, customer.getCity());
+		preparedStmt.setString(parameterOffset + 8, customer.getState());
+	}
+
+	private void checkId(Customer customer) {
+		if (customer.getId() >= FIRST_SEQUENCE_ID) {
+			throw new IllegalArgumentException("Id is reserved for the customer sequence: " + customer.getId());
+		}
 	}
 
 	private void prepareUpdateStatement(PreparedStatement preparedStmt, Customer customer) throws SQLException {
@@ -112,10 +362,36 @@ public class RawJdbcCustomerDAO implements CustomerDAO {
 		preparedStmt.setInt(8, customer.getId());
 	}
 
-	private Customer toCustomer(ResultSet rs) throws SQLException {
-		return new Customer(rs.getInt("ID"), rs.getString("FIRST_NAME"), rs.getString("LAST_NAME"),
-				rs.getString("PHONE"), rs.getString("EMAIL"), rs.getString("ZIP_CODE"), rs.getString("CITY"),
-				rs.getString("STATE"));
+	private List<Customer> queryCustomers(PreparedStatement preparedStmt) throws SQLException {
+		CustomerRowMapper rowMapper = new CustomerRowMapper();
+		List<Customer> customers = new ArrayList<>();
+		try (ResultSet rs = preparedStmt.executeQuery()) {
+			while (rs.next()) {
+				customers.add(rowMapper.mapRow(rs, customers.size()));
+			}
+		}
+		return customers;
+	}
+
+	@FunctionalInterface
+	private interface StatementCallback<T> {
+
+		T doInStatement(PreparedStatement preparedStmt) throws SQLException;
+
+	}
+
+	@FunctionalInterface
+	private interface BatchCallback {
+
+		BatchResult doInTransaction() throws SQLException;
+
+	}
+
+	@FunctionalInterface
+	private interface StatementBinder {
+
+		void bind(PreparedStatement preparedStmt, Customer customer) throws SQLException;
+
 	}
 
 }
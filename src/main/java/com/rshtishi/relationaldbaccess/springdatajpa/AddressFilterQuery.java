@@ -0,0 +1,142 @@
+package com.rshtishi.relationaldbaccess.springdatajpa;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.rshtishi.relationaldbaccess.entity.AddressFilter;
+import com.rshtishi.relationaldbaccess.entity.CustomerContact;
+import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
+
+/**
+ * An {@link AddressFilter} bound to the JPQL of its shape, which of zip code,
+ * city and state are present. The JPQL of the eight shapes is written once, so
+ * a call only binds the upper-case values, and the Hibernate query plan cache
+ * holds one plan per shape instead of one per call site and combination.
+ */
+final class AddressFilterQuery {
+
+	private static final String ALIAS = "c";
+	// bit i of a shape is set when field i is present
+	private static final String[] PARAMETERS = { "zipCode", "city", "state" };
+	private static final String[] NORM_COLUMNS = { "zipCodeNorm", "cityNorm", "stateNorm" };
+	private static final Shape[] SHAPES = new Shape[1 << PARAMETERS.length];
+
+	static {
+		for (int shape = 0; shape < SHAPES.length; shape++) {
+			SHAPES[shape] = new Shape(shape);
+		}
+	}
+
+	private final Shape shape;
+	private final String[] values;
+
+	private AddressFilterQuery(Shape shape, String[] values) {
+		this.shape = shape;
+		this.values = values;
+	}
+
+	static AddressFilterQuery of(AddressFilter filter) {
+		String[] values = filter == null ? new String[PARAMETERS.length]
+				: new String[] { normalize(filter.getZipCode()), normalize(filter.getCity()),
+						normalize(filter.getState()) };
+		int shape = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				shape |= 1 << i;
+			}
+		}
+		return new AddressFilterQuery(SHAPES[shape], values);
+	}
+
+	/**
+	 * The values the query binds, filters with equal values find the same
+	 * customers.
+	 */
+	List<String> getValues() {
+		return Arrays.asList(values);
+	}
+
+	String getSelect() {
+		return shape.select;
+	}
+
+	TypedQuery<JpaCustomerEntity> customers(EntityManager entityManager) {
+		return bind(entityManager.createQuery(shape.select, JpaCustomerEntity.class));
+	}
+
+	/**
+	 * Orders by the given sort and then by id, so no row is skipped or repeated
+	 * between pages. Only sorted calls build a new query string.
+	 */
+	TypedQuery<JpaCustomerEntity> customers(EntityManager entityManager, Sort sort) {
+		String jpql = sort.isSorted() ? QueryUtils.applySorting(shape.select, sort, ALIAS) : shape.select;
+		if (sort.getOrderFor("id") == null) {
+			jpql += (sort.isSorted() ? ", " : " order by ") + ALIAS + ".id asc";
+		}
+		return bind(entityManager.createQuery(jpql, JpaCustomerEntity.class));
+	}
+
+	TypedQuery<JpaCustomerEntity> customersAfter(EntityManager entityManager, int afterId) {
+		return bind(entityManager.createQuery(shape.selectAfter, JpaCustomerEntity.class)).setParameter("afterId",
+				afterId);
+	}
+
+	TypedQuery<Long> count(EntityManager entityManager) {
+		return bind(entityManager.createQuery(shape.count, Long.class));
+	}
+
+	TypedQuery<CustomerContact> contacts(EntityManager entityManager) {
+		return bind(entityManager.createQuery(shape.contacts, CustomerContact.class));
+	}
+
+	private <T> TypedQuery<T> bind(TypedQuery<T> query) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				query.setParameter(PARAMETERS[i], values[i]);
+			}
+		}
+		return query;
+	}
+
+	// compares with the indexed upper-case columns, UPPER(column) = UPPER(?) could not use an index
+	private static String normalize(String value) {
+		return StringUtils.isBlank(value) ? null : value.toUpperCase(Locale.ROOT);
+	}
+
+	private static class Shape {
+
+		private final String select;
+		private final String selectAfter;
+		private final String count;
+		private final String contacts;
+
+		Shape(int shape) {
+			StringBuilder conditions = new StringBuilder();
+			for (int i = 0; i < PARAMETERS.length; i++) {
+				if ((shape & 1 << i) != 0) {
+					conditions.append(ALIAS).append('.').append(NORM_COLUMNS[i]).append(" = :").append(PARAMETERS[i])
+							.append(" and ");
+				}
+			}
+			String from = " from Customer " + ALIAS;
+			String where = conditions.length() == 0 ? ""
+					: " where " + conditions.substring(0, conditions.length() - " and ".length());
+			select = "select " + ALIAS + from + where;
+			selectAfter = "select " + ALIAS + from + " where " + conditions + ALIAS + ".id > :afterId order by "
+					+ ALIAS + ".id asc";
+			count = "select count(" + ALIAS + ")" + from + where;
+			contacts = "select new " + CustomerContact.class.getName() + "(" + ALIAS + ".id, " + ALIAS
+					+ ".firstName, " + ALIAS + ".lastName, " + ALIAS + ".phone, " + ALIAS + ".email)" + from + where;
+		}
+
+	}
+
+}
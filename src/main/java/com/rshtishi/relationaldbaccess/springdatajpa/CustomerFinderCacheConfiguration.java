@@ -0,0 +1,87 @@
+package com.rshtishi.relationaldbaccess.springdatajpa;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rshtishi.relationaldbaccess.entity.AddressFilter;
+
+/**
+ * Caches the results of the {@link SpringDataJpaCustomerDAO} finders when
+ * {@code customer.cache.enabled} is true. The {@code customer.finders} region
+ * of ehcache.xml bounds the entries and their lifetime and stores copies of
+ * the results. The saves and deletes of that repository clear it, as does the
+ * {@link CustomerFinderCacheEvictor} for the writes of the other customer DAOs.
+ * <p>
+ * The cache is transaction-aware: inside a transaction, puts and clears take
+ * effect only after it commits, so a rolled back write leaves the cache alone.
+ * A result read before a clear is not stored after it, see
+ * {@link GenerationGuardedCache}. Writes that bypass the customer DAOs stay
+ * visible only once the entries expire.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "customer.cache.enabled", havingValue = "true")
+public class CustomerFinderCacheConfiguration {
+
+	public static final String CACHE = "customer.finders";
+	public static final String CACHE_RESOLVER = "customerFinderCacheResolver";
+	public static final String KEY_GENERATOR = "customerFinderKeyGenerator";
+
+	// the guard sits below the decorator, so it counts the clears when they take effect
+	@Bean(CACHE_RESOLVER)
+	public CustomerFinderCacheResolver customerFinderCacheResolver(CacheManager cacheManager) {
+		return new CustomerFinderCacheResolver(
+				new TransactionAwareCacheDecorator(new GenerationGuardedCache(cacheManager.getCache(CACHE))));
+	}
+
+	// the method and its arguments, an address filter by the values its query binds
+	@Bean(KEY_GENERATOR)
+	public KeyGenerator customerFinderKeyGenerator() {
+		return (target, method, params) -> {
+			Object[] key = new Object[params.length + 1];
+			key[0] = method.toGenericString();
+			for (int i = 0; i < params.length; i++) {
+				key[i + 1] = params[i] instanceof AddressFilter
+						? AddressFilterQuery.of((AddressFilter) params[i]).getValues()
+						: params[i];
+			}
+			return new SimpleKey(key);
+		};
+	}
+
+	/**
+	 * Resolves every finder to the one decorated cache. It is not a bean of its
+	 * own, which would make Spring Boot build a cache manager from it.
+	 */
+	static class CustomerFinderCacheResolver implements CacheResolver {
+
+		private final Cache cache;
+
+		CustomerFinderCacheResolver(Cache cache) {
+			this.cache = cache;
+		}
+
+		@Override
+		public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+			return Collections.singleton(cache);
+		}
+
+		Cache getCache() {
+			return cache;
+		}
+
+	}
+
+}
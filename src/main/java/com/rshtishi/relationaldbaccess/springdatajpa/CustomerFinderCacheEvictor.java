@@ -0,0 +1,39 @@
+package com.rshtishi.relationaldbaccess.springdatajpa;
+
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import com.rshtishi.relationaldbaccess.springdatajpa.CustomerFinderCacheConfiguration.CustomerFinderCacheResolver;
+
+/**
+ * Clears the cached customer finder results after every write through the
+ * {@code CustomerDAO} and {@code JpaCustomerDAO} implementations, which change
+ * the same table behind the Spring Data repository. A failed write clears it
+ * too, as a batch may have committed part of its rows. Inside a transaction
+ * the clear waits for the commit.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "customer.cache.enabled", havingValue = "true")
+public class CustomerFinderCacheEvictor {
+
+	private final Cache cache;
+
+	public CustomerFinderCacheEvictor(CustomerFinderCacheResolver cacheResolver) {
+		this.cache = cacheResolver.getCache();
+	}
+
+	@After("execution(* com.rshtishi.relationaldbaccess.dao.CustomerDAO+.insert*(..)) "
+			+ "|| execution(* com.rshtishi.relationaldbaccess.dao.CustomerDAO+.upsert(..)) "
+			+ "|| execution(* com.rshtishi.relationaldbaccess.dao.CustomerDAO+.update(..)) "
+			+ "|| execution(* com.rshtishi.relationaldbaccess.dao.CustomerDAO+.delete(..)) "
+			+ "|| execution(* com.rshtishi.relationaldbaccess.dao.JpaCustomerDAO+.save*(..)) "
+			+ "|| execution(* com.rshtishi.relationaldbaccess.dao.JpaCustomerDAO+.delete(..))")
+	public void evict() {
+		cache.clear();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.rshtishi.relationaldbaccess.springdatajpa;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Counts the clears of a cache and drops a put when the cache was cleared
+ * since the lookup that missed. A finder that read before a concurrent write
+ * committed thus cannot store its stale result after the write's clear.
+ * <p>
+ * Only a put of the key that last missed on the same thread is stored, which
+ * is how {@code @Cacheable} calls the cache. A put deferred to a commit is
+ * dropped when another lookup ran on the thread in between.
+ */
+final class GenerationGuardedCache implements Cache {
+
+	private final Cache target;
+	private final AtomicLong generation = new AtomicLong();
+	private final ThreadLocal<Lookup> lastMiss = new ThreadLocal<>();
+
+	GenerationGuardedCache(Cache target) {
+		this.target = target;
+	}
+
+	@Override
+	public String getName() {
+		return target.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return target.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		long readGeneration = generation.get();
+		ValueWrapper value = target.get(key);
+		if (value == null) {
+			lastMiss.set(new Lookup(key, readGeneration));
+		}
+		return value;
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		return target.get(key, type);
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		return target.get(key, valueLoader);
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		Lookup lookup = lastMiss.get();
+		lastMiss.remove();
+		if (lookup == null || !lookup.key.equals(key) || lookup.generation != generation.get()) {
+			return;
+		}
+		target.put(key, value);
+		// a clear between the check and the put may have missed the new entry
+		if (lookup.generation != generation.get()) {
+			target.evict(key);
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		target.evict(key);
+	}
+
+	@Override
+	public void clear() {
+		generation.incrementAndGet();
+		target.clear();
+	}
+
+	private static final class Lookup {
+
+		private final Object key;
+		private final long generation;
+
+		Lookup(Object key, long generation) {
+			this.key = key;
+			this.generation = generation;
+		}
+
+	}
+
+}
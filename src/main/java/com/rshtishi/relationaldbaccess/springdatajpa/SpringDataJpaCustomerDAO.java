@@ -2,6 +2,9 @@ package com.rshtishi.relationaldbaccess.springdatajpa;
 
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.CrudRepository;
@@ -9,9 +12,14 @@ import org.springframework.stereotype.Repository;
 
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
+import com.rshtishi.relationaldbaccess.entity.AddressFilter;
+import com.rshtishi.relationaldbaccess.entity.CustomerContact;
+import com.rshtishi.relationaldbaccess.entity.CustomerSummary;
 import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
 
 @Repository
+@CacheConfig(cacheResolver = CustomerFinderCacheConfiguration.CACHE_RESOLVER,
+		keyGenerator = CustomerFinderCacheConfiguration.KEY_GENERATOR)
 public interface SpringDataJpaCustomerDAO extends CrudRepository<JpaCustomerEntity, Integer>,
 		QuerydslPredicateExecutor<JpaCustomerEntity>, SpringDataJpaCustomerDAOCustom {
 
@@ -21,19 +29,62 @@ public interface SpringDataJpaCustomerDAO extends CrudRepository<JpaCustomerEnti
 
 	JpaCustomerEntity findById(int id);
 
+	// writes, each clears the cached finder results as any of them may change
+
+	@Override
+	@CacheEvict(allEntries = true)
+	<S extends JpaCustomerEntity> S save(S entity);
+
+	@Override
+	@CacheEvict(allEntries = true)
+	<S extends JpaCustomerEntity> Iterable<S> saveAll(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(allEntries = true)
+	void deleteById(Integer id);
+
+	@Override
+	@CacheEvict(allEntries = true)
+	void delete(JpaCustomerEntity entity);
+
+	@Override
+	@CacheEvict(allEntries = true)
+	void deleteAll(Iterable<? extends JpaCustomerEntity> entities);
+
+	@Override
+	@CacheEvict(allEntries = true)
+	void deleteAll();
+
 	// derived queries
 
+	@Cacheable
 	List<JpaCustomerEntity> findByFirstName(String firstName);
 
+	<T> List<T> findByFirstName(String firstName, Class<T> type);
+
 	List<JpaCustomerEntity> findByEmailIsNotNull();
 
 	// jpql query
 
+	@Cacheable
 	@Query("SELECT c FROM Customer c WHERE c.city=?1")
 	List<JpaCustomerEntity> extractCustomersThatAreFrom(String city);
 
+	@Query("SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName FROM Customer c WHERE c.city=?1")
+	List<CustomerSummary> extractCustomerSummariesFrom(String city);
+
+	@Query("SELECT new com.rshtishi.relationaldbaccess.entity.CustomerContact(c.id, c.firstName, c.lastName, c.phone, c.email) FROM Customer c WHERE c.city=?1")
+	List<CustomerContact> extractCustomerContactsFrom(String city);
+
 	// native query
 
+	@Cacheable
 	@Query(value = "SELECT * FROM Customer c WHERE c.state=?1", nativeQuery = true)
 	List<JpaCustomerEntity> extractCustomerFromCountry(String country);
+
+	// custom query
+
+	@Override
+	@Cacheable
+	List<JpaCustomerEntity> findCustomers(AddressFilter filter);
 }
@@ -2,13 +2,31 @@ package com.rshtishi.relationaldbaccess.springdatajpa;
 
 import java.util.List;
 
-import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
 import com.rshtishi.relationaldbaccess.entity.AddressFilter;
+import com.rshtishi.relationaldbaccess.entity.CustomerContact;
 import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
 
 public interface SpringDataJpaCustomerDAOCustom {
 
 	public List<JpaCustomerEntity> findCustomers(AddressFilter filter);
 
+	public Page<JpaCustomerEntity> findCustomers(AddressFilter filter, Pageable pageable);
+
+	/**
+	 * Reads one row more than the page size to tell whether a next slice
+	 * exists, instead of counting the matches like the {@link Page} variant.
+	 */
+	public Slice<JpaCustomerEntity> findCustomerSlice(AddressFilter filter, Pageable pageable);
+
+	public KeysetPage<JpaCustomerEntity> findCustomers(AddressFilter filter, int afterId, int limit);
+
+	public List<CustomerContact> findCustomerContacts(AddressFilter filter);
+
+	public KeysetPage<JpaCustomerEntity> findPage(int afterId, int limit);
+
 }
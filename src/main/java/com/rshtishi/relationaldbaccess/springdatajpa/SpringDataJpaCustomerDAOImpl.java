@@ -2,41 +2,75 @@ package com.rshtishi.relationaldbaccess.springdatajpa;
 
 import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 
-import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Path;
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
 import com.rshtishi.relationaldbaccess.entity.AddressFilter;
+import com.rshtishi.relationaldbaccess.entity.CustomerContact;
 import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
-import com.rshtishi.relationaldbaccess.entity.QJpaCustomerEntity;
 
 public class SpringDataJpaCustomerDAOImpl implements SpringDataJpaCustomerDAOCustom {
 
 	private static final Logger logger = LoggerFactory.getLogger(SpringDataJpaCustomerDAOImpl.class);
 
-	@Autowired
-	private SpringDataJpaCustomerDAO customerDAO;
+	@PersistenceContext
+	private EntityManager entityManager;
 
 	@Override
 	public List<JpaCustomerEntity> findCustomers(AddressFilter filter) {
+		return AddressFilterQuery.of(filter).customers(entityManager).getResultList();
+	}
+
+	@Override
+	public Page<JpaCustomerEntity> findCustomers(AddressFilter filter, Pageable pageable) {
+		AddressFilterQuery query = AddressFilterQuery.of(filter);
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(query.customers(entityManager, pageable.getSort()).getResultList());
+		}
+		List<JpaCustomerEntity> customers = query.customers(entityManager, pageable.getSort())
+				.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize()).getResultList();
+		return PageableExecutionUtils.getPage(customers, pageable,
+				() -> query.count(entityManager).getSingleResult());
+	}
 
-		BooleanBuilder builder = new BooleanBuilder();
-		if (filter != null) {
-			QJpaCustomerEntity qCustomer = QJpaCustomerEntity.jpaCustomerEntity;
-			if (!StringUtils.isBlank(filter.getZipCode())) {
-				builder.and(qCustomer.zipCode.equalsIgnoreCase(filter.getZipCode()));
-			}
-			if (!StringUtils.isBlank(filter.getCity())) {
-				builder.and(qCustomer.city.equalsIgnoreCase(filter.getCity()));
-			}
-			if (!StringUtils.isBlank(filter.getState())) {
-				builder.and(qCustomer.state.equalsIgnoreCase(filter.getState()));
-			}
+	@Override
+	public Slice<JpaCustomerEntity> findCustomerSlice(AddressFilter filter, Pageable pageable) {
+		AddressFilterQuery query = AddressFilterQuery.of(filter);
+		if (pageable.isUnpaged()) {
+			return new SliceImpl<>(query.customers(entityManager, pageable.getSort()).getResultList());
 		}
-		return customerDAO.findAll(builder);
+		List<JpaCustomerEntity> customers = query.customers(entityManager, pageable.getSort())
+				.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1).getResultList();
+		boolean hasNext = customers.size() > pageable.getPageSize();
+		List<JpaCustomerEntity> content = hasNext ? customers.subList(0, pageable.getPageSize()) : customers;
+		return new SliceImpl<>(content, pageable, hasNext);
+	}
+
+	@Override
+	public KeysetPage<JpaCustomerEntity> findCustomers(AddressFilter filter, int afterId, int limit) {
+		List<JpaCustomerEntity> customers = AddressFilterQuery.of(filter).customersAfter(entityManager, afterId)
+				.setMaxResults(KeysetPage.rowsToFetch(limit)).getResultList();
+		return KeysetPage.of(customers, limit, JpaCustomerEntity::getId);
+	}
+
+	@Override
+	public List<CustomerContact> findCustomerContacts(AddressFilter filter) {
+		return AddressFilterQuery.of(filter).contacts(entityManager).getResultList();
+	}
+
+	@Override
+	public KeysetPage<JpaCustomerEntity> findPage(int afterId, int limit) {
+		return findCustomers(null, afterId, limit);
 	}
 
 }
@@ -2,6 +2,9 @@ package com.rshtishi.relationaldbaccess.springdatajpa;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +13,8 @@ import com.rshtishi.relationaldbaccess.entity.Product;
 @Repository
 public interface SpringDataJpaProductDAO extends CrudRepository<Product,Integer>{
 	
+	@QueryHints({ @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION, value = "product.queries") })
 	public List<Product> findAll();
 	
 	public Product findById(int id);
@@ -0,0 +1,78 @@
+package com.rshtishi.relationaldbaccess;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.rshtishi.relationaldbaccess.dao.BatchResult;
+import com.rshtishi.relationaldbaccess.dao.CustomerDAO;
+import com.rshtishi.relationaldbaccess.entity.Customer;
+import com.rshtishi.relationaldbaccess.jdbctemplate.JdbcTemplateCustomerDAO;
+import com.rshtishi.relationaldbaccess.rawjdbc.RawJdbcCustomerDAO;
+
+/**
+ * Compares JDBC batching with multi-row inserts for a bulk load. Only runs on
+ * demand: {@code mvn test -Dtest=CustomerBulkInsertBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CustomerBulkInsertBenchmarkTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CustomerBulkInsertBenchmarkTest.class);
+	private static final int ROWS = 20_000;
+	private static final int FIRST_ID = 100_000;
+	private static final int ROUNDS = 5;
+
+	@Autowired
+	private RawJdbcCustomerDAO rawJdbcCustomerDAO;
+	@Autowired
+	private JdbcTemplateCustomerDAO jdbcTemplateCustomerDAO;
+
+	@Test
+	void benchmarkRawJdbc() {
+		benchmark("raw jdbc", rawJdbcCustomerDAO);
+	}
+
+	@Test
+	void benchmarkJdbcTemplate() {
+		benchmark("jdbc template", jdbcTemplateCustomerDAO);
+	}
+
+	private void benchmark(String name, CustomerDAO customerDAO) {
+		List<Customer> customers = new ArrayList<>(ROWS);
+		for (int id = FIRST_ID; id < FIRST_ID + ROWS; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		measure(name + " batch(100)", customerDAO, customers, rows -> customerDAO.insert(rows, 100));
+		measure(name + " multi-row(10)", customerDAO, customers, rows -> customerDAO.insertMultiRow(rows, 10));
+		measure(name + " multi-row(100)", customerDAO, customers, rows -> customerDAO.insertMultiRow(rows, 100));
+		measure(name + " multi-row(500)", customerDAO, customers, rows -> customerDAO.insertMultiRow(rows, 500));
+	}
+
+	// the first round warms up the JIT and the connection pool and is not counted
+	private void measure(String name, CustomerDAO customerDAO, List<Customer> customers,
+			Function<List<Customer>, BatchResult> insert) {
+		long total = 0;
+		for (int round = 0; round <= ROUNDS; round++) {
+			long start = System.nanoTime();
+			BatchResult result = insert.apply(customers);
+			long elapsed = System.nanoTime() - start;
+			assertTrue(result.isCommitted());
+			customerDAO.delete(customers);
+			if (round > 0) {
+				total += elapsed;
+			}
+		}
+		LOGGER.info("{}: {} rows in {} ms on average", name, ROWS, total / ROUNDS / 1_000_000);
+	}
+
+}
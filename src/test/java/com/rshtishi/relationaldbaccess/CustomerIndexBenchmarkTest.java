@@ -0,0 +1,110 @@
+package com.rshtishi.relationaldbaccess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.rshtishi.relationaldbaccess.entity.Customer;
+import com.rshtishi.relationaldbaccess.rawjdbc.RawJdbcCustomerDAO;
+import com.rshtishi.relationaldbaccess.springdatajpa.SpringDataJpaCustomerDAO;
+
+/**
+ * Shows the plan and latency of the customer repository queries with the
+ * secondary indexes of changeset 06 and again after dropping them. The email
+ * query is left out, changeset 06 does not index it. Only runs on
+ * demand: {@code mvn test -Dtest=CustomerIndexBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CustomerIndexBenchmarkTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CustomerIndexBenchmarkTest.class);
+	private static final int ROWS = 200_000;
+	private static final int FIRST_ID = 100_000;
+	private static final int ROUNDS = 5;
+	private static final List<String> INDEXES = Arrays.asList("IDX_CUSTOMER_CITY", "IDX_CUSTOMER_STATE",
+			"IDX_CUSTOMER_FIRST_NAME");
+
+	@Autowired
+	private RawJdbcCustomerDAO rawJdbcCustomerDAO;
+	@Autowired
+	private SpringDataJpaCustomerDAO customerDAO;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void benchmarkRepositoryQueries() {
+		load();
+		List<RepositoryQuery> queries = Arrays.asList(
+				new RepositoryQuery("findByFirstName", "SELECT * FROM customer WHERE first_name = ?",
+						() -> customerDAO.findByFirstName("Name7"), "Name7"),
+				new RepositoryQuery("extractCustomersThatAreFrom", "SELECT * FROM customer WHERE city = ?",
+						() -> customerDAO.extractCustomersThatAreFrom("City7"), "City7"),
+				new RepositoryQuery("extractCustomerSummariesFrom",
+						"SELECT id, first_name, last_name FROM customer WHERE city = ?",
+						() -> customerDAO.extractCustomerSummariesFrom("City7"), "City7"),
+				new RepositoryQuery("extractCustomerFromCountry", "SELECT * FROM customer WHERE state = ?",
+						() -> customerDAO.extractCustomerFromCountry("State7"), "State7"));
+		List<String> createIndexes = new ArrayList<>();
+		for (String index : INDEXES) {
+			createIndexes.add(jdbcTemplate.queryForObject(
+					"SELECT DISTINCT SQL FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?", String.class, index));
+		}
+		queries.forEach(query -> measure("with indexes", query));
+		INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+		queries.forEach(query -> measure("without indexes", query));
+		createIndexes.forEach(jdbcTemplate::execute);
+	}
+
+	// 500 cities, 50 states and 2000 first names
+	private void load() {
+		List<Customer> customers = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			customers.add(new Customer(FIRST_ID + i, "Name" + (i % 2000), "Doe", "457879878", "customer" + i + "@mail",
+					"1411", "City" + (i % 500), "State" + (i % 50)));
+		}
+		rawJdbcCustomerDAO.insertMultiRow(customers, 100);
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	// the first round warms up the JIT and the connection pool and is not counted
+	private void measure(String label, RepositoryQuery query) {
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + query.sql, String.class, query.arguments);
+		long total = 0;
+		int rows = 0;
+		for (int round = 0; round <= ROUNDS; round++) {
+			long start = System.nanoTime();
+			rows = query.call.get().size();
+			if (round > 0) {
+				total += System.nanoTime() - start;
+			}
+		}
+		LOGGER.info("{} {}: {} rows in {} µs on average\n{}", label, query.name, rows, total / ROUNDS / 1_000, plan);
+	}
+
+	private static class RepositoryQuery {
+
+		private final String name;
+		private final String sql;
+		private final Supplier<List<?>> call;
+		private final Object[] arguments;
+
+		RepositoryQuery(String name, String sql, Supplier<List<?>> call, Object... arguments) {
+			this.name = name;
+			this.sql = sql;
+			this.call = call;
+			this.arguments = arguments;
+		}
+
+	}
+
+}
@@ -1,9 +1,12 @@
 package com.rshtishi.relationaldbaccess.jdbctemplate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -11,8 +14,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.rshtishi.relationaldbaccess.dao.BatchResult;
+import com.rshtishi.relationaldbaccess.dao.IdRange;
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
 import com.rshtishi.relationaldbaccess.entity.Customer;
+import com.zaxxer.hikari.HikariDataSource;
 
 @SpringBootTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -20,6 +30,10 @@ class JdbcTemplateCustomerDAOTest {
 
 	@Autowired
 	private JdbcTemplateCustomerDAO customerDAO;
+	@Autowired
+	private HikariDataSource dataSource;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
 
 	@Test
 	@Order(1)
@@ -100,4 +114,265 @@ class JdbcTemplateCustomerDAOTest {
 		assertEquals(name,returnedCustomer.getFirstName());
 	}
 
+	@Test
+	@Order(7)
+	void testInsertBatch() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 10; id < 15; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		}
+		// exercise
+		BatchResult result = customerDAO.insert(customers, 2);
+		// verify
+		assertTrue(result.isCommitted());
+		assertEquals(3, result.getChunks().size());
+		assertEquals(5, result.getUpdateCount());
+		int expectedSize = 7;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(8)
+	void testUpdateAll() {
+		// setup
+		String name = "Joan";
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 10; id < 15; id++) {
+			customers.add(new Customer(id, name, "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		}
+		// exercise
+		customerDAO.update(customers);
+		// verify
+		for (int id = 10; id < 15; id++) {
+			assertEquals(name, customerDAO.findByCustomerId(id).getFirstName());
+		}
+	}
+
+	@Test
+	@Order(9)
+	void testInsertBatchWithFailure() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		customers.add(new Customer(20, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(21, "Jill", "Doe", "457879878", "jilldoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(10, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(22, "Jim", "Doe", "457879878", "jimdoe@mail", "1411", "New Jork", "USA"));
+		// exercise
+		BatchResult result = customerDAO.insert(customers, 2);
+		// verify
+		assertFalse(result.isSuccessful());
+		assertFalse(result.isCommitted());
+		assertTrue(result.getFailedRows().contains(2));
+		assertFalse(result.getFailedRows().contains(0));
+		int expectedSize = 7;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(10)
+	void testDeleteAll() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 10; id < 15; id++) {
+			customers.add(customerDAO.findByCustomerId(id));
+		}
+		// exercise
+		customerDAO.delete(customers);
+		// verify
+		int expectedSize = 2;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(11)
+	void testInsertBatchWithFailureJoinsTransaction() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		customers.add(new Customer(60, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(1, "Jill", "Doe", "457879878", "jilldoe@mail", "1411", "New Jork", "USA"));
+		List<BatchResult> results = new ArrayList<>();
+		// execute
+		transactionTemplate.executeWithoutResult(status -> {
+			results.add(customerDAO.insert(customers, 1));
+			// verify
+			assertFalse(status.isRollbackOnly());
+		});
+		// verify
+		assertFalse(results.get(0).isSuccessful());
+		assertFalse(results.get(0).isCommitted());
+		assertEquals(1, results.get(0).getUpdateCount());
+		int expectedSize = 3;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+		customerDAO.delete(customers.get(0));
+	}
+
+	@Test
+	@Order(12)
+	void testStreamAll() {
+		// setup
+		int fetchSize = 1;
+		// exercise
+		long count;
+		try (Stream<Customer> customers = customerDAO.streamAll(fetchSize)) {
+			count = customers.count();
+		}
+		// verify
+		int expectedSize = 2;
+		assertEquals(expectedSize, count);
+		assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+	}
+
+	@Test
+	@Order(13)
+	void testStreamAllReleasesConnectionOnClose() {
+		// setup
+		Stream<Customer> customers = customerDAO.streamAll(1);
+		// exercise
+		Customer customer = customers.findFirst().get();
+		customers.close();
+		// verify
+		assertEquals(1, customer.getId());
+		assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+	}
+
+	@Test
+	@Order(14)
+	void testFindAllWithConsumer() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		// exercise
+		customerDAO.findAll(customers::add, 1);
+		// verify
+		int expectedSize = 2;
+		assertEquals(expectedSize, customers.size());
+	}
+
+	@Test
+	@Order(15)
+	void testStreamAllInTransactionReleasesConnectionOnClose() {
+		// setup
+		List<Boolean> holderOpen = new ArrayList<>();
+		// execute
+		transactionTemplate.executeWithoutResult(status -> {
+			ConnectionHolder holder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
+			try (Stream<Customer> customers = customerDAO.streamAll(1)) {
+				customers.findFirst();
+				holderOpen.add(holder.isOpen());
+			}
+			holderOpen.add(holder.isOpen());
+		});
+		// verify
+		assertTrue(holderOpen.get(0));
+		assertFalse(holderOpen.get(1));
+		assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+	}
+
+	@Test
+	@Order(16)
+	void testFindPage() {
+		// setup
+		int afterId = 0;
+		int limit = 1;
+		// exercise
+		KeysetPage<Customer> firstPage = customerDAO.findPage(afterId, limit);
+		KeysetPage<Customer> lastPage = customerDAO.findPage(firstPage.getNextAfterId(), limit);
+		// verify
+		assertEquals(1, firstPage.getContent().get(0).getId());
+		assertTrue(firstPage.hasNext());
+		assertEquals(2, lastPage.getContent().get(0).getId());
+		assertFalse(lastPage.hasNext());
+	}
+
+	@Test
+	@Order(17)
+	void testUpsert() {
+		// setup
+		int id = 2;
+		String name = "James";
+		Customer customer = new Customer(id, name, "Doe", "457879878", "johndoe@mail", "1411", "New Jork", "USA");
+		// exercise
+		customerDAO.upsert(customer);
+		// verify
+		assertEquals(name, customerDAO.findByCustomerId(id).getFirstName());
+		int expectedSize = 2;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(18)
+	void testUpsertBatch() {
+		// setup
+		String name = "John";
+		List<Customer> customers = new ArrayList<>();
+		customers.add(new Customer(2, name, "Doe", "457879878", "johndoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(40, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(41, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA"));
+		// exercise
+		BatchResult result = customerDAO.upsert(customers, 2);
+		// verify
+		assertTrue(result.isCommitted());
+		assertEquals(3, result.getUpdateCount());
+		assertEquals(name, customerDAO.findByCustomerId(2).getFirstName());
+		int expectedSize = 4;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+		customerDAO.delete(customers.subList(1, 3));
+	}
+
+	@Test
+	@Order(19)
+	void testInsertMultiRow() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 50; id < 55; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		// execute
+		BatchResult result = customerDAO.insertMultiRow(customers, 2);
+		// verify
+		assertTrue(result.isCommitted());
+		int expectedChunks = 3;
+		assertEquals(expectedChunks, result.getChunks().size());
+		assertEquals(customers.size(), result.getUpdateCount());
+		int expectedSize = 7;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+		customerDAO.delete(customers);
+	}
+
+	@Test
+	@Order(20)
+	void testInsertMultiRowWithFailure() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		customers.add(new Customer(50, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(51, "Jill", "Doe", "457879878", "jilldoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(52, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(1, "Jim", "Doe", "457879878", "jimdoe@mail", "1411", "New Jork", "USA"));
+		// execute
+		BatchResult result = customerDAO.insertMultiRow(customers, 2);
+		// verify
+		assertFalse(result.isSuccessful());
+		assertFalse(result.isCommitted());
+		assertTrue(result.getFailedRows().contains(2));
+		assertTrue(result.getFailedRows().contains(3));
+		assertFalse(result.getFailedRows().contains(0));
+		int expectedSize = 2;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(21)
+	void testFindByIdRange() {
+		// setup
+		IdRange idRange = customerDAO.findIdRange().get();
+		// execute
+		List<Customer> customersReturned = customerDAO.findByIdRange(idRange.getFromId(), idRange.getToId());
+		// verify
+		assertEquals(1, idRange.getFromId());
+		assertEquals(2, idRange.getToId());
+		int expectedSize = 2;
+		assertEquals(expectedSize, customersReturned.size());
+		assertEquals(1, customersReturned.get(0).getId());
+	}
+
 }
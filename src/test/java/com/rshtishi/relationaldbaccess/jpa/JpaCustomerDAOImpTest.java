@@ -1,18 +1,34 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.rshtishi.relationaldbaccess.dao.CustomerDAO;
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
+import com.rshtishi.relationaldbaccess.entity.Customer;
 import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
+import com.rshtishi.relationaldbaccess.jdbctemplate.JdbcTemplateCustomerDAO;
+import com.rshtishi.relationaldbaccess.rawjdbc.RawJdbcCustomerDAO;
 
 @SpringBootTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -20,6 +36,14 @@ class JpaCustomerDAOImpTest {
 	
 	@Autowired
 	private JpaCustomerDAOImp customerDAO;
+	@Autowired
+	private RawJdbcCustomerDAO rawJdbcCustomerDAO;
+	@Autowired
+	private JdbcTemplateCustomerDAO jdbcTemplateCustomerDAO;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@PersistenceContext
+	private EntityManager entityManager;
 
 	@Test
 	@Order(1)
@@ -87,4 +111,109 @@ class JpaCustomerDAOImpTest {
 		assertEquals(expectedSize, customers.size());
 	}
 
+	@Test
+	@Order(6)
+	void testFindPage() {
+		// setup
+		int afterId = 0;
+		int limit = 1;
+		// execute
+		KeysetPage<JpaCustomerEntity> firstPage = customerDAO.findPage(afterId, limit);
+		KeysetPage<JpaCustomerEntity> lastPage = customerDAO.findPage(firstPage.getNextAfterId(), limit);
+		// verify
+		assertEquals(1, firstPage.getContent().get(0).getId());
+		assertTrue(firstPage.hasNext());
+		assertEquals(2, lastPage.getContent().get(0).getId());
+		assertFalse(lastPage.hasNext());
+	}
+
+	@Test
+	@Order(7)
+	void testSaveAllNew() {
+		// setup
+		List<JpaCustomerEntity> customers = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			customers.add(new JpaCustomerEntity(0, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		// execute
+		customerDAO.saveAll(customers);
+		// verify
+		assertTrue(customers.stream().allMatch(customer -> customer.getId() >= CustomerDAO.FIRST_SEQUENCE_ID));
+		int expectedSize = 122;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(8)
+	void testFindAllWithConsumer() {
+		// setup
+		List<JpaCustomerEntity> customers = new ArrayList<>();
+		// execute
+		customerDAO.findAll(customers::add, 50);
+		// verify
+		int expectedSize = 122;
+		assertEquals(expectedSize, customers.size());
+		assertFalse(customers.stream().anyMatch(entityManager::contains));
+	}
+
+	@Test
+	@Order(9)
+	void testStreamAll() {
+		// setup
+		List<JpaCustomerEntity> customers = new ArrayList<>();
+		// execute
+		transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<JpaCustomerEntity> stream = customerDAO.streamAll(50)) {
+				stream.forEach(customer -> {
+					// verify
+					assertTrue(entityManager.unwrap(Session.class).isReadOnly(customer));
+					customers.add(customer);
+				});
+			}
+			assertFalse(customers.stream().anyMatch(entityManager::contains));
+		});
+		// verify
+		int expectedSize = 122;
+		assertEquals(expectedSize, customers.size());
+	}
+
+	@Test
+	@Order(10)
+	void testStreamAllWithoutTransaction() {
+		// setup
+		// execute
+		// verify
+		assertThrows(IllegalTransactionStateException.class, () -> customerDAO.streamAll(50));
+	}
+
+	@Test
+	@Order(11)
+	void testSaveAllNewAfterJdbcInserts() {
+		// setup
+		int highestCallerId = CustomerDAO.FIRST_SEQUENCE_ID - 1;
+		Customer rawJdbcCustomer = new Customer(highestCallerId - 1, "John", "Doe", "457879878", "johndoe@mail",
+				"1411", "New Jork", "USA");
+		Customer jdbcTemplateCustomer = new Customer(highestCallerId, "John", "Doe", "457879878", "johndoe@mail",
+				"1411", "New Jork", "USA");
+		rawJdbcCustomerDAO.insert(rawJdbcCustomer);
+		jdbcTemplateCustomerDAO.upsert(jdbcTemplateCustomer);
+		List<JpaCustomerEntity> customers = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			customers.add(new JpaCustomerEntity(0, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		// execute
+		customerDAO.saveAll(customers);
+		// verify
+		assertTrue(customers.stream().allMatch(customer -> customer.getId() >= CustomerDAO.FIRST_SEQUENCE_ID));
+		int expectedSize = 184;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+		// the repositories translate the IllegalArgumentException
+		Customer reserved = new Customer(CustomerDAO.FIRST_SEQUENCE_ID, "John", "Doe", "457879878", "johndoe@mail",
+				"1411", "New Jork", "USA");
+		assertThrows(InvalidDataAccessApiUsageException.class, () -> rawJdbcCustomerDAO.upsert(reserved));
+		assertThrows(InvalidDataAccessApiUsageException.class, () -> jdbcTemplateCustomerDAO.insert(reserved));
+		rawJdbcCustomerDAO.delete(rawJdbcCustomer);
+		jdbcTemplateCustomerDAO.delete(jdbcTemplateCustomer);
+	}
+
 }
@@ -1,9 +1,14 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -13,6 +18,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import com.rshtishi.relationaldbaccess.entity.Manufacturer;
 import com.rshtishi.relationaldbaccess.entity.Product;
+import com.rshtishi.relationaldbaccess.entity.QManufacturer;
 
 @SpringBootTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -20,6 +26,10 @@ class JpaManufacturerDAOImplTest {
 
 	@Autowired
 	private JpaManufacturerDAOImpl manufacturerDAO;
+	@Autowired
+	private CacheStatistics cacheStatistics;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
 
 	@Test
 	@Order(1)
@@ -87,4 +97,41 @@ class JpaManufacturerDAOImplTest {
 		assertEquals(expectedSize, manufacturers.size());
 	}
 
+	@Test
+	@Order(6)
+	void testSecondLevelAndQueryCache() {
+		// setup
+		int id = 2;
+		manufacturerDAO.findById(id);
+		manufacturerDAO.findAll();
+		cacheStatistics.clear();
+		// execute
+		Manufacturer manufacturer = manufacturerDAO.findById(id);
+		List<Manufacturer> manufacturers = manufacturerDAO.findAll();
+		// verify
+		assertEquals("Samsung", manufacturer.getName());
+		assertEquals(3, manufacturers.size());
+		assertTrue(cacheStatistics.getRegionStatistics("manufacturer").getHitCount() > 0);
+		assertEquals(1, cacheStatistics.getRegionStatistics("manufacturer.queries").getHitCount());
+		assertEquals(0, cacheStatistics.getRegionStatistics("manufacturer.queries").getMissCount());
+	}
+
+	@Test
+	@Order(7)
+	void testDeleteAllByPredicate() {
+		// setup
+		manufacturerDAO.findAll();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		// execute
+		int deleted = manufacturerDAO.deleteAll(QManufacturer.manufacturer.name.eq("Xiaomi"));
+		// verify
+		// one delete for the join rows and one for the manufacturers, no ids are selected first
+		assertEquals(2, statistics.getPrepareStatementCount());
+		List<Manufacturer> manufacturers = manufacturerDAO.findAll();
+		assertEquals(2, deleted);
+		assertEquals(1, manufacturers.size());
+		assertEquals("Samsung", manufacturers.get(0).getName());
+	}
+
 }
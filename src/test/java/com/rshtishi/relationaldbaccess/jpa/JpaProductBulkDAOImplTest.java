@@ -0,0 +1,85 @@
+package com.rshtishi.relationaldbaccess.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.rshtishi.relationaldbaccess.entity.Manufacturer;
+import com.rshtishi.relationaldbaccess.entity.Product;
+import com.rshtishi.relationaldbaccess.entity.ProductDetails;
+import com.rshtishi.relationaldbaccess.entity.Review;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class JpaProductBulkDAOImplTest {
+
+	@Autowired
+	private JpaProductBulkDAOImpl productBulkDAO;
+	@Autowired
+	private JpaProductDAOImpl productDAO;
+	@Autowired
+	private JpaReviewDAOImpl reviewDAO;
+	@Autowired
+	private JpaManufacturerDAOImpl manufacturerDAO;
+
+	@Test
+	@Order(1)
+	void testImportProducts() {
+		// setup
+		Manufacturer apple = manufacturerDAO.findById(1);
+		Manufacturer xiaomi = new Manufacturer("Xiaomi");
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			Product product = new Product("Phone " + i);
+			product.addReview(new Review("Good"));
+			product.addReview(new Review("Bad"));
+			product.setDetails(new ProductDetails("Rando", LocalDateTime.now()));
+			product.getManufacturers().add(apple);
+			product.getManufacturers().add(xiaomi);
+			products.add(product);
+		}
+		// execute
+		int imported = productBulkDAO.importProducts(products);
+		// verify
+		assertEquals(products.size(), imported);
+		int expectedProducts = 123;
+		assertEquals(expectedProducts, productDAO.findAll().size());
+		int expectedReviews = 246;
+		assertEquals(expectedReviews, reviewDAO.findAll().size());
+		int expectedManufacturers = 3;
+		assertEquals(expectedManufacturers, manufacturerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(2)
+	void testExportProducts() {
+		// setup
+		List<Product> products = new ArrayList<>();
+		// execute
+		productBulkDAO.exportProducts(products::add);
+		// verify
+		int expectedSize = 123;
+		assertEquals(expectedSize, products.size());
+		Product first = products.get(0);
+		assertEquals(1, first.getId());
+		assertEquals(4, first.getReviews().size());
+		assertEquals(2, first.getManufacturers().size());
+		assertNotNull(first.getDetails());
+		Product last = products.get(products.size() - 1);
+		assertEquals("Phone 119", last.getName());
+		assertEquals(2, last.getReviews().size());
+		assertEquals(2, last.getManufacturers().size());
+		assertEquals("Rando", last.getDetails().getCreatedBy());
+	}
+
+}
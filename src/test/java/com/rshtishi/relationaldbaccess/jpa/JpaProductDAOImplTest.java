@@ -1,9 +1,16 @@
 package com.rshtishi.relationaldbaccess.jpa;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
 import java.util.List;
 
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -11,15 +18,22 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import com.rshtishi.relationaldbaccess.dao.ProductFetchPlan;
 import com.rshtishi.relationaldbaccess.entity.Manufacturer;
 import com.rshtishi.relationaldbaccess.entity.Product;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounter;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounts;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class JpaProductDAOImplTest {
 
 	@Autowired
 	private JpaProductDAOImpl productDAO;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private StatementCounter statementCounter;
 
 	@Test
 	@Order(1)
@@ -88,4 +102,81 @@ class JpaProductDAOImplTest {
 		assertEquals(expectedSize, products.size());
 	}
 
+	@Test
+	@Order(6)
+	void testFindAllWithReviews() {
+		// setup
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		// execute
+		List<Product> products = productDAO.findAll(ProductFetchPlan.WITH_REVIEWS);
+		int reviewCount = products.stream().mapToInt(product -> product.getReviews().size()).sum();
+		// verify
+		int expectedReviewCount = 6;
+		assertEquals(expectedReviewCount, reviewCount);
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	@Order(7)
+	void testFindAllFull() {
+		// setup
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		// execute
+		List<Product> products = productDAO.findAll(ProductFetchPlan.FULL);
+		for (Product product : products) {
+			product.getReviews().size();
+			product.getManufacturers().size();
+			if (product.getDetails() != null) {
+				product.getDetails().getCreatedBy();
+			}
+		}
+		// verify
+		int expectedSize = 4;
+		assertEquals(expectedSize, products.size());
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	@Order(8)
+	void testFindAllFullBindsNoProducts() {
+		// setup
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		// execute
+		productDAO.findAll(ProductFetchPlan.FULL);
+		// verify
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertTrue(Arrays.stream(statistics.getQueries()).noneMatch(query -> query.contains(" in ")),
+				Arrays.toString(statistics.getQueries()));
+	}
+
+	@Test
+	@Order(9)
+	void testDeleteAllById() {
+		// setup
+		productDAO.findAll();
+		List<Integer> ids = Arrays.asList(1, 2);
+		// execute
+		int deleted = productDAO.deleteAllById(ids);
+		// verify
+		List<Product> products = productDAO.findAll();
+		assertEquals(2, deleted);
+		assertEquals(2, products.size());
+		assertNull(productDAO.findById(1));
+	}
+
+	@Test
+	@Order(10)
+	void testFindAllWithManufacturersSelectCount() {
+		// setup
+		// execute
+		StatementCounts counts = statementCounter.count(() -> productDAO.findAll(ProductFetchPlan.WITH_MANUFACTURERS)
+				.forEach(product -> product.getManufacturers().size()));
+		// verify
+		assertEquals(1, counts.getSelects());
+		assertTrue(counts.getRepeatedShapes(1).isEmpty());
+	}
+
 }
@@ -0,0 +1,110 @@
+package com.rshtishi.relationaldbaccess.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.EmptyResultDataAccessException;
+
+import com.rshtishi.relationaldbaccess.dao.ProductFetchPlan;
+import com.rshtishi.relationaldbaccess.jdbctemplate.JdbcTemplateCustomerDAO;
+import com.rshtishi.relationaldbaccess.jpa.JpaProductDAOImpl;
+import com.rshtishi.relationaldbaccess.springdatajpa.SpringDataJpaCustomerDAO;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DaoMetricsAspectTest {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private JdbcTemplateCustomerDAO jdbcTemplateCustomerDAO;
+	@Autowired
+	private SpringDataJpaCustomerDAO springDataJpaCustomerDAO;
+	@Autowired
+	private JpaProductDAOImpl jpaProductDAO;
+
+	@Test
+	@Order(1)
+	void testCallsAndRowsOfJdbcDAO() {
+		// setup
+		// execute
+		jdbcTemplateCustomerDAO.findAll();
+		// verify
+		Timer timer = meterRegistry.find("dao.calls").tags("dao", "JdbcTemplateCustomerDAO", "method", "findAll",
+				"exception", "none").timer();
+		DistributionSummary rows = meterRegistry.find("dao.rows")
+				.tags("dao", "JdbcTemplateCustomerDAO", "method", "findAll").summary();
+		assertEquals(1, timer.count());
+		assertEquals(1, rows.totalAmount());
+	}
+
+	@Test
+	@Order(2)
+	void testCallsOfSpringDataRepository() {
+		// setup
+		// execute
+		springDataJpaCustomerDAO.findAll();
+		// verify
+		Timer timer = meterRegistry.find("dao.calls").tags("dao", "SpringDataJpaCustomerDAO", "method", "findAll")
+				.timer();
+		assertEquals(1, timer.count());
+	}
+
+	@Test
+	@Order(3)
+	void testFailedCall() {
+		// setup
+		int customerId = 404;
+		// execute
+		assertThrows(EmptyResultDataAccessException.class,
+				() -> jdbcTemplateCustomerDAO.findByCustomerId(customerId));
+		// verify
+		Timer timer = meterRegistry.find("dao.calls").tags("dao", "JdbcTemplateCustomerDAO", "method",
+				"findByCustomerId", "exception", "EmptyResultDataAccessException").timer();
+		assertEquals(1, timer.count());
+	}
+
+	@Test
+	@Order(4)
+	void testHibernateStatistics() {
+		// setup
+		// execute
+		jpaProductDAO.findAll();
+		// verify
+		FunctionCounter entityLoads = meterRegistry.find("hibernate.entities.loads").functionCounter();
+		assertNotNull(entityLoads);
+		assertTrue(entityLoads.count() > 0);
+		assertNotNull(meterRegistry.find("hibernate.collections.fetches").functionCounter());
+		assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests").tag("result", "hit")
+				.functionCounter());
+	}
+
+	@Test
+	@Order(5)
+	void testStatementsOfCall() {
+		// setup
+		DistributionSummary statements = meterRegistry.find("dao.call.statements")
+				.tags("dao", "JpaProductDAOImpl", "method", "findAll").summary();
+		long calls = statements.count();
+		double total = statements.totalAmount();
+		// execute
+		jpaProductDAO.findAll(ProductFetchPlan.FULL);
+		// verify
+		assertEquals(calls + 1, statements.count());
+		assertEquals(total + 2, statements.totalAmount());
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.rshtishi.relationaldbaccess.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.rshtishi.relationaldbaccess.entity.Customer;
+import com.rshtishi.relationaldbaccess.jdbctemplate.JdbcTemplateCustomerDAO;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounts.Type;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StatementCounterTest {
+
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private JdbcTemplateCustomerDAO customerDAO;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	@Order(1)
+	void testCount() {
+		// setup
+		int customerId = 1;
+		// execute
+		StatementCounts counts = statementCounter.count(() -> {
+			customerDAO.findByCustomerId(customerId);
+			customerDAO.findByCustomerId(customerId);
+			customerDAO.findAll();
+		});
+		// verify
+		Map<String, Integer> repeatedShapes = counts.getRepeatedShapes(1);
+		assertEquals(3, counts.getSelects());
+		assertEquals(1, repeatedShapes.size());
+		assertEquals(2, repeatedShapes.values().iterator().next());
+	}
+
+	@Test
+	@Order(2)
+	void testNestedCount() {
+		// setup
+		Customer customer = new Customer(2, "John", "Doe", "457879878", "johndoe@mail", "1411", "New Jork", "USA");
+		// execute
+		StatementCounts outer = statementCounter.count(() -> {
+			customerDAO.findAll();
+			StatementCounts counts = statementCounter.count(() -> customerDAO.insert(customer));
+			assertEquals(1, counts.getCount(Type.INSERT));
+			assertEquals(0, counts.getSelects());
+		});
+		// verify
+		assertEquals(1, outer.getSelects());
+		assertEquals(1, outer.getCount(Type.INSERT));
+		assertEquals(2, outer.getTotal());
+	}
+
+	@Test
+	@Order(3)
+	void testStatementsMeter() {
+		// setup
+		// execute
+		customerDAO.findAll();
+		// verify
+		assertTrue(meterRegistry.find("dao.statements").tag("type", "select").functionCounter().count() > 0);
+	}
+
+	@Test
+	@Order(4)
+	void testShapeOf() {
+		// setup
+		String sql = "SELECT * FROM customer\n WHERE id IN (?, ?, ?) AND city = 'Tirane' AND id > 10";
+		// execute
+		String shape = StatementCounter.shapeOf(sql);
+		// verify
+		assertEquals("SELECT * FROM customer WHERE id IN (?...) AND city = ? AND id > ?", shape);
+		assertEquals(shape,
+				StatementCounter.shapeOf("SELECT * FROM customer WHERE id IN (?, ?) AND city = 'Durres' AND id > 5"));
+	}
+
+}
@@ -1,9 +1,25 @@
 package com.rshtishi.relationaldbaccess.rawjdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -11,9 +27,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.rshtishi.relationaldbaccess.dao.AsyncCustomerDAO;
+import com.rshtishi.relationaldbaccess.dao.AsyncCustomerDAO.OverflowPolicy;
+import com.rshtishi.relationaldbaccess.dao.BatchResult;
 import com.rshtishi.relationaldbaccess.dao.CustomerDAO;
+import com.rshtishi.relationaldbaccess.dao.IdRange;
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
+import com.rshtishi.relationaldbaccess.dao.ParallelCustomerScan;
 import com.rshtishi.relationaldbaccess.entity.Customer;
+import com.zaxxer.hikari.HikariDataSource;
 
 @SpringBootTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -21,6 +45,10 @@ class RawJdbcCustomerDAOTest {
 
 	@Autowired
 	private RawJdbcCustomerDAO customerDAO;
+	@Autowired
+	private HikariDataSource dataSource;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
 
 	@Test
 	@Order(1)
@@ -104,4 +132,390 @@ class RawJdbcCustomerDAOTest {
 		assertEquals(name, returnedCustomer.getFirstName());
 	}
 
+	@Test
+	@Order(7)
+	void testInsertBatch() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 10; id < 15; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		}
+		// execute
+		BatchResult result = customerDAO.insert(customers, 2);
+		// verify
+		assertTrue(result.isCommitted());
+		assertEquals(3, result.getChunks().size());
+		assertEquals(5, result.getUpdateCount());
+		int expectedSize = 7;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(8)
+	void testUpdateAll() {
+		// setup
+		String name = "Joan";
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 10; id < 15; id++) {
+			customers.add(new Customer(id, name, "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		}
+		// execute
+		customerDAO.update(customers);
+		// verify
+		for (int id = 10; id < 15; id++) {
+			assertEquals(name, customerDAO.findByCustomerId(id).getFirstName());
+		}
+	}
+
+	@Test
+	@Order(9)
+	void testInsertBatchWithFailure() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		customers.add(new Customer(20, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(21, "Jill", "Doe", "457879878", "jilldoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(10, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(22, "Jim", "Doe", "457879878", "jimdoe@mail", "1411", "New Jork", "USA"));
+		// execute
+		BatchResult result = customerDAO.insert(customers, 2);
+		// verify
+		assertFalse(result.isSuccessful());
+		assertFalse(result.isCommitted());
+		assertTrue(result.getFailedRows().contains(2));
+		assertFalse(result.getFailedRows().contains(0));
+		int expectedSize = 7;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(10)
+	void testDeleteAll() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 10; id < 15; id++) {
+			customers.add(customerDAO.findByCustomerId(id));
+		}
+		// execute
+		customerDAO.delete(customers);
+		// verify
+		int expectedSize = 2;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(11)
+	void testStreamAll() {
+		// setup
+		int fetchSize = 1;
+		// execute
+		long count;
+		try (Stream<Customer> customers = customerDAO.streamAll(fetchSize)) {
+			count = customers.count();
+		}
+		// verify
+		int expectedSize = 2;
+		assertEquals(expectedSize, count);
+		assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+	}
+
+	@Test
+	@Order(12)
+	void testStreamAllReleasesConnectionOnClose() {
+		// setup
+		Stream<Customer> customers = customerDAO.streamAll(1);
+		// execute
+		Customer customer = customers.findFirst().get();
+		customers.close();
+		// verify
+		assertEquals(1, customer.getId());
+		assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+	}
+
+	@Test
+	@Order(13)
+	void testFindAllWithConsumer() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		// execute
+		customerDAO.findAll(customers::add, 1);
+		// verify
+		int expectedSize = 2;
+		assertEquals(expectedSize, customers.size());
+	}
+
+	@Test
+	@Order(14)
+	void testFindPage() {
+		// setup
+		int afterId = 0;
+		int limit = 1;
+		// execute
+		KeysetPage<Customer> firstPage = customerDAO.findPage(afterId, limit);
+		KeysetPage<Customer> lastPage = customerDAO.findPage(firstPage.getNextAfterId(), limit);
+		// verify
+		assertEquals(1, firstPage.getContent().get(0).getId());
+		assertTrue(firstPage.hasNext());
+		assertEquals(2, lastPage.getContent().get(0).getId());
+		assertFalse(lastPage.hasNext());
+	}
+
+	@Test
+	@Order(15)
+	void testUnitOfWork() {
+		// setup
+		Customer customer = new Customer(2, "Jim", "Doe", "457879878", "johndoe@mail", "1411", "New Jork", "USA");
+		try (JdbcUnitOfWork unitOfWork = customerDAO.beginUnitOfWork()) {
+			// execute
+			customerDAO.findByCustomerId(1);
+			customerDAO.update(customer);
+			customerDAO.findByCustomerId(2);
+			// verify
+			int expectedStatementCount = 2;
+			assertEquals(expectedStatementCount, unitOfWork.getStatementCount());
+			assertEquals(1, dataSource.getHikariPoolMXBean().getActiveConnections());
+		}
+		assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+	}
+
+	@Test
+	@Order(16)
+	void testUnitOfWorkJoinsTransaction() {
+		// setup
+		int id = 30;
+		Customer customer = new Customer(id, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA");
+		// execute
+		transactionTemplate.executeWithoutResult(status -> {
+			customerDAO.insert(customer);
+			assertEquals(id, customerDAO.findByCustomerId(id).getId());
+			status.setRollbackOnly();
+		});
+		// verify
+		int expectedSize = 2;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(17)
+	void testUpsert() {
+		// setup
+		int id = 2;
+		String name = "James";
+		Customer customer = new Customer(id, name, "Doe", "457879878", "johndoe@mail", "1411", "New Jork", "USA");
+		// execute
+		customerDAO.upsert(customer);
+		// verify
+		assertEquals(name, customerDAO.findByCustomerId(id).getFirstName());
+		int expectedSize = 2;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(18)
+	void testUpsertBatch() {
+		// setup
+		String name = "John";
+		List<Customer> customers = new ArrayList<>();
+		customers.add(new Customer(2, name, "Doe", "457879878", "johndoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(40, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(41, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA"));
+		// execute
+		BatchResult result = customerDAO.upsert(customers, 2);
+		// verify
+		assertTrue(result.isCommitted());
+		assertEquals(3, result.getUpdateCount());
+		assertEquals(name, customerDAO.findByCustomerId(2).getFirstName());
+		int expectedSize = 4;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+		customerDAO.delete(customers.subList(1, 3));
+	}
+
+	@Test
+	@Order(19)
+	void testInsertMultiRow() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 50; id < 55; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		// execute
+		BatchResult result = customerDAO.insertMultiRow(customers, 2);
+		// verify
+		assertTrue(result.isCommitted());
+		int expectedChunks = 3;
+		assertEquals(expectedChunks, result.getChunks().size());
+		assertEquals(customers.size(), result.getUpdateCount());
+		int expectedSize = 7;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+		customerDAO.delete(customers);
+	}
+
+	@Test
+	@Order(20)
+	void testInsertMultiRowWithFailure() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		customers.add(new Customer(50, "Jack", "Doe", "457879878", "jackdoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(51, "Jill", "Doe", "457879878", "jilldoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(52, "Jane", "Doe", "457879878", "janendoe@mail", "1411", "New Jork", "USA"));
+		customers.add(new Customer(1, "Jim", "Doe", "457879878", "jimdoe@mail", "1411", "New Jork", "USA"));
+		// execute
+		BatchResult result = customerDAO.insertMultiRow(customers, 2);
+		// verify
+		assertFalse(result.isSuccessful());
+		assertFalse(result.isCommitted());
+		assertTrue(result.getFailedRows().contains(2));
+		assertTrue(result.getFailedRows().contains(3));
+		assertFalse(result.getFailedRows().contains(0));
+		int expectedSize = 2;
+		assertEquals(expectedSize, customerDAO.findAll().size());
+	}
+
+	@Test
+	@Order(21)
+	void testFindByIdRange() {
+		// setup
+		IdRange idRange = customerDAO.findIdRange().get();
+		// execute
+		List<Customer> customersReturned = customerDAO.findByIdRange(idRange.getFromId(), idRange.getToId());
+		// verify
+		assertEquals(1, idRange.getFromId());
+		assertEquals(2, idRange.getToId());
+		int expectedSize = 2;
+		assertEquals(expectedSize, customersReturned.size());
+		assertEquals(1, customersReturned.get(0).getId());
+	}
+
+	@Test
+	@Order(22)
+	void testParallelScan() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 60; id < 70; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		customerDAO.insert(customers);
+		List<Integer> expectedIds = customerDAO.findAll().stream().map(Customer::getId).sorted()
+				.collect(Collectors.toList());
+		try (ParallelCustomerScan scan = new ParallelCustomerScan(customerDAO, 2)) {
+			// execute
+			List<Integer> orderedIds;
+			try (Stream<Customer> scanned = scan.scan(4, true)) {
+				orderedIds = scanned.map(Customer::getId).collect(Collectors.toList());
+			}
+			List<Integer> unorderedIds;
+			try (Stream<Customer> scanned = scan.scan(4, false)) {
+				unorderedIds = scanned.map(Customer::getId).sorted().collect(Collectors.toList());
+			}
+			// verify
+			assertEquals(expectedIds, orderedIds);
+			assertEquals(expectedIds, unorderedIds);
+		} finally {
+			customerDAO.delete(customers);
+		}
+	}
+
+	@Test
+	@Order(23)
+	void testParallelScanReadsAheadOnWorkersOnly() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 60; id < 70; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		customerDAO.insert(customers);
+		Set<Thread> readers = ConcurrentHashMap.newKeySet();
+		AtomicInteger started = new AtomicInteger();
+		CustomerDAO recordingDAO = mock(CustomerDAO.class);
+		when(recordingDAO.findIdRange()).thenAnswer(invocation -> customerDAO.findIdRange());
+		when(recordingDAO.findByIdRange(anyInt(), anyInt())).thenAnswer(invocation -> {
+			readers.add(Thread.currentThread());
+			started.incrementAndGet();
+			return customerDAO.findByIdRange(invocation.getArgument(0), invocation.getArgument(1));
+		});
+		int parallelism = 2;
+		try (ParallelCustomerScan scan = new ParallelCustomerScan(recordingDAO, parallelism);
+				Stream<Customer> scanned = scan.scan(8, true)) {
+			// execute
+			Iterator<Customer> iterator = scanned.iterator();
+			iterator.next();
+			// verify
+			assertTrue(started.get() <= parallelism + 1);
+			int count = 1;
+			while (iterator.hasNext()) {
+				iterator.next();
+				count++;
+			}
+			assertEquals(customerDAO.findAll().size(), count);
+			assertFalse(readers.contains(Thread.currentThread()));
+			assertTrue(readers.size() <= parallelism);
+		} finally {
+			customerDAO.delete(customers);
+		}
+	}
+
+	@Test
+	@Order(24)
+	void testAsyncFindByCustomerId() {
+		// setup
+		try (AsyncCustomerDAO asyncCustomerDAO = new AsyncCustomerDAO(customerDAO,
+				dataSource.getMaximumPoolSize(), 10, OverflowPolicy.REJECT)) {
+			// execute
+			CompletableFuture<Customer> first = asyncCustomerDAO.findByCustomerId(1);
+			CompletableFuture<Customer> second = asyncCustomerDAO.findByCustomerId(2);
+			CompletableFuture.allOf(first, second).join();
+			// verify
+			assertEquals(1, first.join().getId());
+			assertEquals(2, second.join().getId());
+		}
+	}
+
+	@Test
+	@Order(25)
+	void testAsyncRejectsWhenFull() throws InterruptedException {
+		// setup
+		CountDownLatch release = new CountDownLatch(1);
+		CustomerDAO blockingDAO = mock(CustomerDAO.class);
+		when(blockingDAO.findByCustomerId(1)).thenAnswer(invocation -> {
+			release.await();
+			return customerDAO.findByCustomerId(1);
+		});
+		try (AsyncCustomerDAO asyncCustomerDAO = new AsyncCustomerDAO(blockingDAO, 1, 1, OverflowPolicy.REJECT)) {
+			// execute
+			CompletableFuture<Customer> running = asyncCustomerDAO.findByCustomerId(1);
+			CompletableFuture<Customer> queued = asyncCustomerDAO.findByCustomerId(1);
+			CompletableFuture<Customer> rejected = asyncCustomerDAO.findByCustomerId(1);
+			// verify
+			CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+			assertTrue(exception.getCause() instanceof RejectedExecutionException);
+			release.countDown();
+			assertEquals(1, running.join().getId());
+			assertEquals(1, queued.join().getId());
+		}
+	}
+
+	@Test
+	@Order(26)
+	void testAsyncBatchAndScan() {
+		// setup
+		List<Customer> customers = new ArrayList<>();
+		for (int id = 70; id < 75; id++) {
+			customers.add(new Customer(id, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		List<Customer> scanned = new ArrayList<>();
+		try (AsyncCustomerDAO asyncCustomerDAO = new AsyncCustomerDAO(customerDAO,
+				dataSource.getMaximumPoolSize(), 10, OverflowPolicy.BLOCK)) {
+			// execute
+			BatchResult inserted = asyncCustomerDAO.insert(customers, 2).join();
+			IdRange idRange = asyncCustomerDAO.findIdRange().join().get();
+			asyncCustomerDAO.findAll(scanned::add, 2).join();
+			BatchResult deleted = asyncCustomerDAO.delete(customers, 2).join();
+			// verify
+			assertTrue(inserted.isCommitted());
+			assertEquals(customers.size(), inserted.getUpdateCount());
+			assertEquals(74, idRange.getToId());
+			assertEquals(customerDAO.findAll().size() + customers.size(), scanned.size());
+			assertEquals(customers.size(), deleted.getUpdateCount());
+		}
+	}
+
 }
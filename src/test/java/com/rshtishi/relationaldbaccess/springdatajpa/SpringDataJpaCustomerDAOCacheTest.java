@@ -0,0 +1,170 @@
+package com.rshtishi.relationaldbaccess.springdatajpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rshtishi.relationaldbaccess.entity.AddressFilter;
+import com.rshtishi.relationaldbaccess.entity.Customer;
+import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
+import com.rshtishi.relationaldbaccess.jdbctemplate.JdbcTemplateCustomerDAO;
+import com.rshtishi.relationaldbaccess.jpa.JpaCustomerDAOImp;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounter;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounts;
+import com.rshtishi.relationaldbaccess.rawjdbc.RawJdbcCustomerDAO;
+import com.rshtishi.relationaldbaccess.springdatajpa.CustomerFinderCacheConfiguration.CustomerFinderCacheResolver;
+
+@SpringBootTest(properties = "customer.cache.enabled=true")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SpringDataJpaCustomerDAOCacheTest {
+
+	@Autowired
+	private SpringDataJpaCustomerDAO customerDAO;
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private RawJdbcCustomerDAO rawJdbcCustomerDAO;
+	@Autowired
+	private JdbcTemplateCustomerDAO jdbcTemplateCustomerDAO;
+	@Autowired
+	private JpaCustomerDAOImp jpaCustomerDAO;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private CustomerFinderCacheResolver cacheResolver;
+
+	@Test
+	@Order(1)
+	void testRepeatedFinderIsServedFromCache() {
+		// setup
+		String city = "Tirane";
+		List<List<JpaCustomerEntity>> results = new ArrayList<>();
+		results.add(customerDAO.extractCustomersThatAreFrom(city));
+		// execute
+		StatementCounts counts = statementCounter
+				.count(() -> results.add(customerDAO.extractCustomersThatAreFrom(city)));
+		// verify
+		assertEquals(results.get(0), results.get(1));
+		assertEquals(0, counts.getTotal());
+	}
+
+	@Test
+	@Order(2)
+	void testEquivalentFiltersShareEntry() {
+		// setup
+		List<JpaCustomerEntity> customers = customerDAO.findCustomers(new AddressFilter("", "tirane", null));
+		List<List<JpaCustomerEntity>> results = new ArrayList<>();
+		// execute
+		StatementCounts counts = statementCounter
+				.count(() -> results.add(customerDAO.findCustomers(new AddressFilter(null, "TIRANE", " "))));
+		// verify
+		assertEquals(customers, results.get(0));
+		assertEquals(0, counts.getTotal());
+	}
+
+	@Test
+	@Order(3)
+	void testSaveEvictsCachedResults() {
+		// setup
+		int cachedSize = customerDAO.findByFirstName("John").size();
+		JpaCustomerEntity newCustomer = new JpaCustomerEntity(0, "John", "Doe", "457879878", "johndoe@mail", "1411",
+				"Tirane", "Albania");
+		// execute
+		customerDAO.save(newCustomer);
+		// verify
+		assertEquals(cachedSize + 1, customerDAO.findByFirstName("John").size());
+		assertEquals(2, customerDAO.findCustomers(new AddressFilter(null, "Tirane", null)).size());
+	}
+
+	@Test
+	@Order(4)
+	void testDeleteEvictsCachedResults() {
+		// setup
+		List<JpaCustomerEntity> customers = customerDAO.findByFirstName("John");
+		// execute
+		customerDAO.deleteById(customers.get(customers.size() - 1).getId());
+		// verify
+		assertEquals(customers.size() - 1, customerDAO.findByFirstName("John").size());
+	}
+
+	@Test
+	@Order(5)
+	void testOtherDAOWritesEvictCachedResults() {
+		// setup
+		int cachedSize = customerDAO.findByFirstName("Jane").size();
+		// execute
+		rawJdbcCustomerDAO
+				.insert(new Customer(900_000_001, "Jane", "Doe", "457879878", null, "1411", "Tirane", "Albania"));
+		int afterRawJdbc = customerDAO.findByFirstName("Jane").size();
+		jdbcTemplateCustomerDAO
+				.insert(new Customer(900_000_002, "Jane", "Doe", "457879878", null, "1411", "Tirane", "Albania"));
+		int afterJdbcTemplate = customerDAO.findByFirstName("Jane").size();
+		jpaCustomerDAO.save(
+				new JpaCustomerEntity(0, "Jane", "Doe", "457879878", null, "1411", "Tirane", "Albania"));
+		int afterJpa = customerDAO.findByFirstName("Jane").size();
+		// verify
+		assertEquals(cachedSize + 1, afterRawJdbc);
+		assertEquals(cachedSize + 2, afterJdbcTemplate);
+		assertEquals(cachedSize + 3, afterJpa);
+	}
+
+	@Test
+	@Order(6)
+	void testRolledBackWriteKeepsCachedResults() {
+		// setup
+		List<JpaCustomerEntity> customers = customerDAO.findByFirstName("Jane");
+		List<List<JpaCustomerEntity>> results = new ArrayList<>();
+		// execute
+		transactionTemplate.executeWithoutResult(status -> {
+			customerDAO.save(new JpaCustomerEntity(0, "Jane", "Doe", "457879878", null, "1411", "Tirane",
+					"Albania"));
+			status.setRollbackOnly();
+		});
+		StatementCounts counts = statementCounter.count(() -> results.add(customerDAO.findByFirstName("Jane")));
+		// verify
+		assertEquals(customers, results.get(0));
+		assertEquals(0, counts.getTotal());
+	}
+
+	@Test
+	@Order(7)
+	void testCachedResultsAreCopies() {
+		// setup
+		List<JpaCustomerEntity> customers = customerDAO.findByFirstName("Jane");
+		String lastName = customers.get(0).getLastName();
+		// execute
+		customers.get(0).setLastName("Changed");
+		List<JpaCustomerEntity> cached = customerDAO.findByFirstName("Jane");
+		// verify
+		assertNotEquals(customers.get(0), cached.get(0));
+		assertEquals(lastName, cached.get(0).getLastName());
+	}
+
+	@Test
+	@Order(8)
+	void testClearDuringReadDropsPut() {
+		// setup
+		Cache customerFinderCache = cacheResolver.getCache();
+		String key = "testClearDuringReadDropsPut";
+		customerFinderCache.get(key);
+		// execute
+		customerFinderCache.clear();
+		customerFinderCache.put(key, "stale");
+		customerFinderCache.get(key);
+		customerFinderCache.put(key, "fresh");
+		// verify
+		assertEquals("fresh", customerFinderCache.get(key).get());
+	}
+
+}
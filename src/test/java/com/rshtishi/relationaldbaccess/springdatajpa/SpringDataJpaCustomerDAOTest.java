@@ -1,19 +1,36 @@
 package com.rshtishi.relationaldbaccess.springdatajpa;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import com.rshtishi.relationaldbaccess.dao.KeysetPage;
 import com.rshtishi.relationaldbaccess.entity.AddressFilter;
+import com.rshtishi.relationaldbaccess.entity.CustomerContact;
+import com.rshtishi.relationaldbaccess.entity.CustomerSummary;
 import com.rshtishi.relationaldbaccess.entity.JpaCustomerEntity;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounter;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounts;
 
 @SpringBootTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -21,6 +38,12 @@ class SpringDataJpaCustomerDAOTest {
 
 	@Autowired
 	private SpringDataJpaCustomerDAO customerDAO;
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
 
 	@Test
 	@Order(1)
@@ -147,6 +170,161 @@ class SpringDataJpaCustomerDAOTest {
 		assertEquals(expectedSize, customers.size());
 	}
 
+	@Test
+	@Order(11)
+	void testFindPage() {
+		// setup
+		int afterId = 0;
+		int limit = 1;
+		// execute
+		KeysetPage<JpaCustomerEntity> firstPage = customerDAO.findPage(afterId, limit);
+		KeysetPage<JpaCustomerEntity> lastPage = customerDAO.findPage(firstPage.getNextAfterId(), limit);
+		// verify
+		assertEquals(1, firstPage.getContent().get(0).getId());
+		assertTrue(firstPage.hasNext());
+		assertEquals(2, lastPage.getContent().get(0).getId());
+		assertFalse(lastPage.hasNext());
+	}
+
+	@Test
+	@Order(12)
+	void testFindByFirstNameProjection() {
+		// setup
+		String name = "Rando";
+		// execute
+		List<CustomerSummary> summaries = customerDAO.findByFirstName(name, CustomerSummary.class);
+		List<CustomerContact> contacts = customerDAO.findByFirstName(name, CustomerContact.class);
+		// verify
+		int expectedSize = 1;
+		assertEquals(expectedSize, summaries.size());
+		assertEquals(name, summaries.get(0).getFirstName());
+		assertEquals(expectedSize, contacts.size());
+		assertEquals(1, contacts.get(0).getId());
+	}
+
+	@Test
+	@Order(13)
+	void testExtractCustomerSummariesFrom() {
+		// setup
+		String city = "Tirane";
+		// execute
+		List<CustomerSummary> summaries = customerDAO.extractCustomerSummariesFrom(city);
+		List<CustomerContact> contacts = customerDAO.extractCustomerContactsFrom(city);
+		// verify
+		int expectedSize = 1;
+		assertEquals(expectedSize, summaries.size());
+		assertEquals("Rando", summaries.get(0).getFirstName());
+		assertEquals(expectedSize, contacts.size());
+		assertEquals(1, contacts.get(0).getId());
+	}
+
+	@Test
+	@Order(14)
+	void testFindCustomerContacts() {
+		// setup
+		AddressFilter filter = new AddressFilter("1001", "Tirane", "Albania");
+		// execute
+		List<CustomerContact> contacts = customerDAO.findCustomerContacts(filter);
+		// verify
+		int expectedSize = 1;
+		assertEquals(expectedSize, contacts.size());
+		assertEquals("Rando", contacts.get(0).getFirstName());
+	}
+
+	@Test
+	@Order(15)
+	void testFindCustomersPage() {
+		// setup
+		List<JpaCustomerEntity> customers = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			customers.add(new JpaCustomerEntity(0, "Jane", "Doe", "457879878", "janedoe@mail", "1411", "New Jork", "USA"));
+		}
+		customerDAO.saveAll(customers);
+		AddressFilter filter = new AddressFilter(null, null, "usa");
+		// execute
+		Page<JpaCustomerEntity> page = customerDAO.findCustomers(filter, PageRequest.of(0, 4, Sort.by("id")));
+		// verify
+		assertEquals(4, page.getNumberOfElements());
+		assertEquals(6, page.getTotalElements());
+		assertEquals(2, page.getTotalPages());
+	}
+
+	@Test
+	@Order(16)
+	void testFindCustomerSlice() {
+		// setup
+		AddressFilter filter = new AddressFilter(null, null, "usa");
+		List<Slice<JpaCustomerEntity>> slices = new ArrayList<>();
+		// execute
+		StatementCounts counts = statementCounter.count(() -> {
+			slices.add(customerDAO.findCustomerSlice(filter, PageRequest.of(0, 4, Sort.by(Direction.DESC, "id"))));
+			slices.add(customerDAO.findCustomerSlice(filter, slices.get(0).nextPageable()));
+		});
+		// verify
+		assertEquals(4, slices.get(0).getNumberOfElements());
+		assertTrue(slices.get(0).getContent().get(0).getId() > slices.get(0).getContent().get(1).getId());
+		assertTrue(slices.get(0).hasNext());
+		assertEquals(2, slices.get(1).getNumberOfElements());
+		assertFalse(slices.get(1).hasNext());
+		assertEquals(2, counts.getSelects());
+	}
+
+	@Test
+	@Order(17)
+	void testFindCustomersKeyset() {
+		// setup
+		AddressFilter filter = new AddressFilter(null, null, "usa");
+		int limit = 4;
+		// execute
+		KeysetPage<JpaCustomerEntity> firstPage = customerDAO.findCustomers(filter, 0, limit);
+		KeysetPage<JpaCustomerEntity> lastPage = customerDAO.findCustomers(filter, firstPage.getNextAfterId(), limit);
+		// verify
+		assertEquals(limit, firstPage.getContent().size());
+		assertEquals(firstPage.getContent().get(limit - 1).getId(), firstPage.getNextAfterId());
+		assertEquals(2, lastPage.getContent().size());
+		assertFalse(lastPage.hasNext());
+	}
+
+	@Test
+	@Order(18)
+	void testFindCustomersIgnoringCaseUsesIndex() {
+		// setup
+		AddressFilter filter = new AddressFilter(null, "tIRANE", null);
+		// execute
+		List<JpaCustomerEntity> customers = customerDAO.findCustomers(filter);
+		String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM customer WHERE city_norm = ?", String.class,
+				"TIRANE");
+		// verify
+		assertEquals(1, customers.size());
+		assertTrue(plan.contains("IDX_CUSTOMER_CITY_NORM"), plan);
+	}
+
+	@Test
+	@Order(19)
+	void testCustomerSummariesFromCityAreCoveredByIndex() {
+		// setup
+		String city = "Tirane";
+		// execute
+		List<CustomerSummary> summaries = customerDAO.extractCustomerSummariesFrom(city);
+		String plan = jdbcTemplate.queryForObject(
+				"EXPLAIN SELECT id, first_name, last_name FROM customer WHERE city = ?", String.class, city);
+		// verify
+		assertEquals(1, summaries.size());
+		assertTrue(plan.contains("IDX_CUSTOMER_CITY"), plan);
+	}
 
+	@Test
+	@Order(20)
+	void testFindCustomersReusesQueryOfSameShape() {
+		// setup
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		String select = AddressFilterQuery.of(new AddressFilter(null, "Tirane", null)).getSelect();
+		long executions = statistics.getQueryStatistics(select).getExecutionCount();
+		// execute
+		customerDAO.findCustomers(new AddressFilter(null, "tirane", null));
+		customerDAO.findCustomers(new AddressFilter(" ", "New Jork", ""));
+		// verify
+		assertEquals(executions + 2, statistics.getQueryStatistics(select).getExecutionCount());
+	}
 
 }
@@ -1,9 +1,14 @@
 package com.rshtishi.relationaldbaccess.springdatajpa;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -13,6 +18,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import com.rshtishi.relationaldbaccess.entity.Manufacturer;
 import com.rshtishi.relationaldbaccess.entity.Product;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounter;
+import com.rshtishi.relationaldbaccess.metrics.StatementCounts;
 
 @SpringBootTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -20,6 +27,10 @@ class SpringDataJpaProductDAOTest {
 
 	@Autowired
 	private SpringDataJpaProductDAO productDAO;
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
 
 	@Test
 	@Order(1)
@@ -87,4 +98,17 @@ class SpringDataJpaProductDAOTest {
 		assertEquals(expectedSize, products.size());
 	}
 
+	@Test
+	@Order(6)
+	void testFindAllLeavesDetailsUnloaded() {
+		// setup
+		Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		cache.evictAllRegions();
+		// execute
+		StatementCounts counts = statementCounter.count(() -> productDAO.findAll());
+		// verify
+		assertEquals(1, counts.getSelects());
+		assertTrue(counts.getRepeatedShapes(1).isEmpty());
+	}
+
 }